@@ -0,0 +1,87 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares a {@link MacroBenchmark} result with the checked-in baseline and exits
+ * with status 1 if any measurement got more than {@value #TOLERANCE_PERCENT}% worse,
+ * or with status 2 if the two cannot be compared.
+ *
+ * <p>
+ * Wall time, GC pauses and peak heap regress when they go up, turns per second
+ * when it goes down. Each is the best value {@link MacroBenchmark} saw over its
+ * runs, not the value of one run, so a single unlucky collection does not count. GC pauses of a few milliseconds are too noisy to compare in
+ * percent, so they also have to grow by at least {@value #GC_PAUSE_FLOOR_MS} ms to
+ * count. A different turn count means the engine now plays different games, so
+ * the timings are not compared at all and the baseline should be regenerated.
+ * </p>
+ *
+ * <pre>
+ * java -cp bin benchmark.BaselineComparator bench/benchmark/baseline.json current.json
+ * </pre>
+ */
+public class BaselineComparator {
+    public static final double TOLERANCE_PERCENT = 5;
+    public static final double GC_PAUSE_FLOOR_MS = 20;
+
+    private static final Pattern ENTRY = Pattern.compile("\"(\\w+)\"\\s*:\\s*(\"[^\"]*\"|[-+0-9.eE]+)");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparator <baseline.json> <current.json>");
+            System.exit(2);
+        }
+
+        Map<String, String> baseline = read(args[0]);
+        Map<String, String> current = read(args[1]);
+
+        if (!baseline.get("turns").equals(current.get("turns"))) {
+            System.out.println("NOT COMPARABLE: the corpus played " + current.get("turns") + " turns, the baseline "
+                    + baseline.get("turns") + "; regenerate the baseline if the rules or the CPU changed");
+            System.exit(2);
+        }
+
+        boolean regressed = false;
+        regressed |= compare(baseline, current, "wallTimeMs", true, 0);
+        regressed |= compare(baseline, current, "turnsPerSecond", false, 0);
+        regressed |= compare(baseline, current, "gcPauseMs", true, GC_PAUSE_FLOOR_MS);
+        regressed |= compare(baseline, current, "peakHeapBytes", true, 0);
+
+        if (regressed) {
+            System.out.println("REGRESSION: at least one measurement is more than " + TOLERANCE_PERCENT + "% worse");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private static boolean compare(Map<String, String> baseline, Map<String, String> current, String key,
+            boolean lowerIsBetter, double floor) {
+        double before = Double.parseDouble(baseline.get(key));
+        double after = Double.parseDouble(current.get(key));
+        double change = before == 0 ? 0 : (after - before) / before * 100;
+        double worse = lowerIsBetter ? change : -change;
+        boolean regressed = worse > TOLERANCE_PERCENT && Math.abs(after - before) >= floor;
+
+        System.out.println(String.format("%-16s %14.1f -> %14.1f  %+6.1f%%%s", key, before, after, change,
+                regressed ? "  REGRESSION" : ""));
+        return regressed;
+    }
+
+    static Map<String, String> read(String file) throws IOException {
+        String json = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+        Map<String, String> values = new LinkedHashMap<>();
+
+        Matcher matcher = ENTRY.matcher(json);
+        while (matcher.find())
+            values.put(matcher.group(1), matcher.group(2).replace("\"", ""));
+
+        return values;
+    }
+}
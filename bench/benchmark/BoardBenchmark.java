@@ -0,0 +1,155 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.Game;
+import engine.board.Board;
+import engine.board.Cell;
+import engine.board.SafeZone;
+import exception.GameException;
+import model.card.Marble;
+import model.player.Player;
+
+/**
+ * Throughput of the {@link Board} rules.
+ *
+ * <p>
+ * Moves use a board of their own with a single marble on it. That marble belongs to
+ * an opponent of the active player, so it never turns into its Safe Zone and keeps
+ * circling the trap-free track; every call is a real move and nothing has to be
+ * reset between calls. The King's destroying move is the exception: it needs
+ * opponents on its path, so its marble and three victims are put back in place
+ * before every call. Swaps and marble lookups use a board with one marble of each
+ * colour on the track and one in the active player's Safe Zone.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @State(Scope.Thread)
+    public static class MoveState {
+        Board board;
+        Marble mover;
+
+        @Setup
+        public void setUp() throws IOException {
+            Game game = new Game("Bench", 1);
+            board = BoardBenchmark.clearTraps(game);
+            mover = game.getPlayers().get(1).getMarbles().remove(0);
+            board.getTrack().get(3).setMarble(mover);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class KingState {
+        static final int START = 3;
+        static final int[] VICTIM_CELLS = { 5, 9, START + 13 };
+
+        Game game;
+        Board board;
+        Marble mover;
+        Marble[] victims = new Marble[VICTIM_CELLS.length];
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            game = new Game("Bench", 1);
+            board = BoardBenchmark.clearTraps(game);
+            mover = game.getPlayers().get(1).getMarbles().remove(0);
+            for (int i = 0; i < victims.length; i++)
+                victims[i] = game.getPlayers().get(2 + i % 2).getMarbles().remove(0);
+        }
+
+        @Setup(Level.Invocation)
+        public void placeMarbles() {
+            for (int i = START; i <= START + 13; i++)
+                board.getTrack().get(i).setMarble(null);
+
+            board.getTrack().get(START).setMarble(mover);
+            for (int i = 0; i < victims.length; i++) {
+                // the last move sent the victim home; take it back off its player
+                Marble victim = victims[i];
+                game.getPlayers().get(2 + i % 2).getMarbles().removeIf(marble -> marble == victim);
+                board.getTrack().get(VICTIM_CELLS[i]).setMarble(victim);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BoardState {
+        Board board;
+        Marble own;
+        Marble opponent;
+
+        @Setup
+        public void setUp() throws IOException {
+            Game game = new Game("Bench", 1);
+            board = BoardBenchmark.clearTraps(game);
+            ArrayList<Player> players = game.getPlayers();
+
+            own = players.get(0).getMarbles().remove(0);
+            opponent = players.get(2).getMarbles().remove(0);
+            board.getTrack().get(40).setMarble(own);
+            board.getTrack().get(60).setMarble(opponent);
+            board.getTrack().get(20).setMarble(players.get(1).getMarbles().remove(0));
+            board.getTrack().get(80).setMarble(players.get(3).getMarbles().remove(0));
+
+            for (SafeZone safeZone : board.getSafeZones()) {
+                if (safeZone.getColour() == players.get(0).getColour())
+                    safeZone.getCells().get(3).setMarble(players.get(0).getMarbles().remove(0));
+            }
+        }
+    }
+
+    static Board clearTraps(Game game) {
+        for (Cell cell : game.getBoard().getTrack())
+            cell.setTrap(false);
+        return game.getBoard();
+    }
+
+    @Benchmark
+    public Marble moveShort(MoveState state) throws GameException {
+        state.board.moveBy(state.mover, 5, false);
+        return state.mover;
+    }
+
+    @Benchmark
+    public Marble moveLong(MoveState state) throws GameException {
+        state.board.moveBy(state.mover, 12, false);
+        return state.mover;
+    }
+
+    @Benchmark
+    public Marble moveKingDestroy(KingState state) throws GameException {
+        state.board.moveBy(state.mover, 13, true);
+        return state.mover;
+    }
+
+    @Benchmark
+    public Marble swap(BoardState state) throws GameException {
+        state.board.swap(state.own, state.opponent);
+        return state.own;
+    }
+
+    @Benchmark
+    public ArrayList<Marble> getActionableMarbles(BoardState state) {
+        return state.board.getActionableMarbles();
+    }
+}
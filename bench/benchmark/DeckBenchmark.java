@@ -0,0 +1,65 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.Game;
+import model.card.Card;
+import model.card.Deck;
+
+/**
+ * Throughput of loading {@code Cards.csv} and of drawing hands from the shared deck.
+ * Benchmarks must run from the project directory so the card file can be found.
+ *
+ * <p>
+ * {@link Deck}'s pool is static, so this state is shared by the whole benchmark
+ * rather than per thread. Drawn cards are put back once the pool runs low, the same
+ * way {@link Game} refills it from the fire pit.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+    private Game game;
+    private final ArrayList<Card> drawn = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws IOException {
+        game = new Game("Bench", 1);
+        Deck.loadCardPool(game.getBoard(), game);
+    }
+
+    @Benchmark
+    public int loadCardPool() throws IOException {
+        Deck.loadCardPool(game.getBoard(), game);
+        return Deck.getPoolSize();
+    }
+
+    @Benchmark
+    public ArrayList<Card> drawCards() {
+        if (Deck.getPoolSize() < 4) {
+            Deck.refillPool(drawn);
+            drawn.clear();
+        }
+
+        ArrayList<Card> hand = Deck.drawCards();
+        drawn.addAll(hand);
+        return hand;
+    }
+}
@@ -0,0 +1,67 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import engine.Game;
+import engine.ai.SelfPlay;
+
+/**
+ * Throughput of CPU turns and of whole rounds of four turns, on seeded CPU-only
+ * games.
+ *
+ * <p>
+ * A turn is {@code CPU.play} through {@link Game#playPlayerTurn()} followed by
+ * {@link Game#endPlayerTurn()}; the two are measured together because the board
+ * has to move on for the next call to be a real decision. When a game is won the
+ * next seed is dealt, so the mix of opening, middle game and endgame positions is
+ * the same on every run.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+    private long seed;
+    private Game game;
+
+    @Setup
+    public void setUp() throws IOException {
+        seed = 1;
+        game = SelfPlay.createGame(seed);
+    }
+
+    @Benchmark
+    public Game cpuTurn() throws IOException {
+        return playTurn();
+    }
+
+    @Benchmark
+    public Game round() throws IOException {
+        for (int i = 0; i < 4; i++)
+            playTurn();
+        return game;
+    }
+
+    private Game playTurn() throws IOException {
+        if (game.checkWin() != null)
+            game = SelfPlay.createGame(++seed);
+
+        SelfPlay.playTurn(game);
+        return game;
+    }
+}
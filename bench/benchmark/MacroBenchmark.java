@@ -0,0 +1,156 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import engine.Game;
+import engine.ai.SelfPlay;
+
+/**
+ * Plays a fixed corpus of seeded all-CPU games on the headless engine and records
+ * how long it took, how many turns per second that is, how long the collector
+ * paused and how large the heap grew.
+ *
+ * <p>
+ * The corpus is played {@value #WARMUP_RUNS} times to warm up and then
+ * {@value #RUNS} more times. Each measurement is reported as its best value over
+ * those runs, the lowest wall time and the fewest collections, pauses and heap,
+ * since the worse values only add noise from the machine and the collector.
+ * Results are written as flat JSON that {@link BaselineComparator} reads back.
+ * </p>
+ *
+ * <pre>
+ * java -cp bin benchmark.MacroBenchmark [output.json]
+ * </pre>
+ */
+public class MacroBenchmark {
+    public static final int GAMES = 1000;
+    public static final long FIRST_SEED = 1;
+    public static final int WARMUP_RUNS = 3;
+    public static final int RUNS = 5;
+
+    public static void main(String[] args) throws IOException {
+        Map<String, Object> best = null;
+
+        for (int i = 0; i < WARMUP_RUNS; i++)
+            run();
+
+        for (int i = 0; i < RUNS; i++) {
+            Map<String, Object> result = run();
+            System.out.println("run " + (i + 1) + ": " + toJson(result).replaceAll("\\s+", " "));
+
+            if (best == null || (double) result.get("wallTimeMs") < (double) best.get("wallTimeMs")) {
+                if (best != null)
+                    keepLowest(result, best);
+                best = result;
+            }
+            else
+                keepLowest(best, result);
+        }
+
+        String json = toJson(best);
+        if (args.length > 0) {
+            try (Writer writer = Files.newBufferedWriter(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+                writer.write(json);
+            }
+        }
+        else
+            System.out.print(json);
+    }
+
+    /**
+     * Plays the whole corpus once and returns its measurements.
+     */
+    public static Map<String, Object> run() throws IOException {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            pool.resetPeakUsage();
+        long gcCount = getGcCount();
+        long gcTime = getGcTime();
+
+        long turns = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < GAMES; i++) {
+            Game game = SelfPlay.createGame(FIRST_SEED + i);
+            for (int turn = 0; turn < SelfPlay.MAX_TURNS && game.checkWin() == null; turn++) {
+                SelfPlay.playTurn(game);
+                turns++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("games", (long) GAMES);
+        result.put("firstSeed", FIRST_SEED);
+        result.put("turns", turns);
+        result.put("wallTimeMs", elapsed / 1e6);
+        result.put("turnsPerSecond", turns / (elapsed / 1e9));
+        result.put("gcCount", getGcCount() - gcCount);
+        result.put("gcPauseMs", (double) (getGcTime() - gcTime));
+        result.put("peakHeapBytes", getPeakHeap());
+        result.put("java", System.getProperty("java.version"));
+        return result;
+    }
+
+    /**
+     * Lowers the collector measurements of {@code best} to those of {@code other}
+     * where {@code other} did better, so each one is the best seen in any run.
+     */
+    private static void keepLowest(Map<String, Object> best, Map<String, Object> other) {
+        best.put("gcCount", Math.min((long) best.get("gcCount"), (long) other.get("gcCount")));
+        best.put("gcPauseMs", Math.min((double) best.get("gcPauseMs"), (double) other.get("gcPauseMs")));
+        best.put("peakHeapBytes", Math.min((long) best.get("peakHeapBytes"), (long) other.get("peakHeapBytes")));
+    }
+
+    private static long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            count += Math.max(0, collector.getCollectionCount());
+        return count;
+    }
+
+    private static long getGcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            time += Math.max(0, collector.getCollectionTime());
+        return time;
+    }
+
+    private static long getPeakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null)
+                peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    static String toJson(Map<String, Object> result) {
+        StringBuilder sb = new StringBuilder("{\n");
+        int i = 0;
+        for (Map.Entry<String, Object> entry : result.entrySet()) {
+            Object value = entry.getValue();
+            sb.append("  \"").append(entry.getKey()).append("\": ");
+
+            if (value instanceof String)
+                sb.append('"').append(value).append('"');
+            else if (value instanceof Double)
+                sb.append(String.format(Locale.ROOT, "%.1f", (Double) value));
+            else
+                sb.append(value);
+
+            sb.append(++i < result.size() ? ",\n" : "\n");
+        }
+        return sb.append("}\n").toString();
+    }
+}
@@ -0,0 +1,17 @@
+#!/bin/sh
+# Builds an AppCDS (application class-data sharing) archive of the classes a cold
+# start loads, so later launches map them from the archive instead of loading and
+# verifying them again. Needs JDK 13 or newer.
+#
+#   scripts/appcds.sh <classpath> [archive]
+#
+# JavaFX options such as --module-path and --add-modules go in JAVA_OPTS.
+
+CP=${1:?usage: $0 <classpath> [archive]}
+ARCHIVE=${2:-jackaroo.jsa}
+
+# the training run exits by itself once the start menu has been drawn
+java $JAVA_OPTS -XX:ArchiveClassesAtExit="$ARCHIVE" -Djackaroo.startup.exit=true -cp "$CP" view.Main || exit 1
+
+echo "Wrote $ARCHIVE. Start the game with:"
+echo "  java $JAVA_OPTS -XX:SharedArchiveFile=$ARCHIVE -Djackaroo.startup.profile=true -cp $CP view.Main"
@@ -4,9 +4,16 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Random;
 
+import engine.ai.CpuWeights;
 import engine.board.Board;
 import engine.board.SafeZone;
+import engine.jfr.FlightEvents;
+import engine.jfr.MoveRejectedEvent;
+import engine.jfr.TurnPlayedEvent;
+import engine.metrics.LatencyRecorder;
+import engine.metrics.Metrics;
 import exception.CannotDiscardException;
 import exception.CannotFieldException;
 import exception.GameException;
@@ -22,35 +29,61 @@ import model.player.*;
 
 @SuppressWarnings("unused")
 public class Game implements GameManager {
+    private static final LatencyRecorder END_TURN_TIMER = Metrics.recorder("game.endPlayerTurn");
+
     private final Board board;
     private final ArrayList<Player> players;
 	private int currentPlayerIndex;
     private final ArrayList<Card> firePit;
     private int turn;
+    private final Deck deck;
+    private final Random random;
+    private volatile long lastCpuDecisionNanos = -1;
+    private final ArrayList<GameListener> listeners = new ArrayList<>();
 
     public Game(String playerName) throws IOException {
+        this(playerName, new Random(), true);
+    }
+
+    /**
+     * Creates a game whose shuffles, traps and CPU choices all come from the given
+     * seed. It draws from its own deck instead of the shared card pool, so any
+     * number of seeded games can be played at the same time.
+     */
+    public Game(String playerName, long seed) throws IOException {
+        this(playerName, new Random(seed), false);
+    }
+
+    private Game(String playerName, Random random, boolean sharedDeck) throws IOException {
         turn = 0;
         currentPlayerIndex = 0;
         firePit = new ArrayList<>();
+        this.random = random;
 
         ArrayList<Colour> colourOrder = new ArrayList<>();
         
         colourOrder.addAll(Arrays.asList(Colour.values()));
         
-        Collections.shuffle(colourOrder);
+        Collections.shuffle(colourOrder, random);
         
-        this.board = new Board(colourOrder, this);
+        this.board = new Board(colourOrder, this, random);
         
-        Deck.loadCardPool(this.board, (GameManager)this);
+        if (sharedDeck) {
+            Deck.loadCardPool(this.board, (GameManager)this);
+            this.deck = Deck.getSharedDeck();
+        }
+        
+        else
+            this.deck = new Deck(this.board, this, random);
         
         this.players = new ArrayList<>();
         this.players.add(new Player(playerName, colourOrder.get(0), currentPlayerIndex));
         
         for (int i = 1; i < 4; i++) 
-            this.players.add(new CPU("CPU " + i, colourOrder.get(i), currentPlayerIndex, this.board));
+            this.players.add(new CPU("CPU " + i, colourOrder.get(i), currentPlayerIndex, this.board, CpuWeights.getDefault(), random));
         
         for (int i = 0; i < 4; i++) 
-            this.players.get(i).setHand(Deck.drawCards());
+            this.players.get(i).setHand(deck.draw());
         
     }
     
@@ -65,6 +98,23 @@ public class Game implements GameManager {
     public ArrayList<Card> getFirePit() {
         return firePit;
     }
+
+    public Deck getDeck() {
+        return deck;
+    }
+
+    /**
+     * Adds a listener that is told about every move, discard and turn from now on.
+     */
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+        board.addListener(listener);
+    }
+
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+        board.removeListener(listener);
+    }
     
     public void selectCard(Card card) throws InvalidCardException {
         players.get(currentPlayerIndex).selectCard(card);
@@ -90,14 +140,62 @@ public class Game implements GameManager {
     }
 
     public void playPlayerTurn() throws GameException {
-        players.get(currentPlayerIndex).play();
+        Player player = players.get(currentPlayerIndex);
+        if (!(player instanceof CPU)) {
+            play(player);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            play(player);
+        }
+        finally {
+            lastCpuDecisionNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Returns how long the last CPU player took to choose and play its move, in
+     * nanoseconds, or -1 if no CPU player has played yet.
+     */
+    public long getLastCpuDecisionNanos() {
+        return lastCpuDecisionNanos;
+    }
+
+    private void play(Player player) throws GameException {
+        if (!FlightEvents.ENABLED) {
+            player.play();
+            return;
+        }
+
+        TurnPlayedEvent event = TurnPlayedEvent.start();
+        boolean accepted = false;
+        try {
+            player.play();
+            accepted = true;
+        }
+        catch (GameException e) {
+            MoveRejectedEvent.emit(player.getColour(), player.getSelectedCard(), e);
+            throw e;
+        }
+        finally {
+            event.emit(player.getColour(), player.getSelectedCard(), player.getPlayedMarbles(), accepted);
+        }
     }
 
     public void endPlayerTurn() {
-        Card selected = players.get(currentPlayerIndex).getSelectedCard();
-        players.get(currentPlayerIndex).getHand().remove(selected);
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+
+        Player player = players.get(currentPlayerIndex);
+        Card selected = player.getSelectedCard();
+        player.getHand().remove(selected);
         firePit.add(selected);
-        players.get(currentPlayerIndex).deselectAll();
+        player.deselectAll();
+        if (selected != null) {
+            for (int i = 0; i < listeners.size(); i++)
+                listeners.get(i).cardDiscarded(player.getColour(), selected);
+        }
         
         currentPlayerIndex = (currentPlayerIndex + 1) % 4;
         
@@ -106,16 +204,26 @@ public class Game implements GameManager {
         
         else if (currentPlayerIndex == 0 && turn == 3) {
         	turn = 0;
+        	boolean firePitCleared = false;
         	for (Player p : players) {
-              if(Deck.getPoolSize() < 4) {
-	              Deck.refillPool(firePit);
+              if(deck.size() < 4) {
+	              deck.refill(firePit);
 	              firePit.clear();
+	              firePitCleared = true;
               }
-              ArrayList<Card> newHand = Deck.drawCards();
+              ArrayList<Card> newHand = deck.draw();
               p.setHand(newHand);
         	}
-        		
+
+        	for (int i = 0; i < listeners.size(); i++)
+        	    listeners.get(i).handsDealt(firePitCleared);
         }
+
+        for (int i = 0; i < listeners.size(); i++)
+            listeners.get(i).turnEnded(getActivePlayerColour());
+
+        if (Metrics.ENABLED)
+            END_TURN_TIMER.record(System.nanoTime() - start);
         
     }
 
@@ -155,17 +263,21 @@ public class Game implements GameManager {
                 int handSize = player.getHand().size();
                 if(handSize == 0)
                     throw new CannotDiscardException("Player has no cards to discard.");
-                int randIndex = (int) (Math.random() * handSize);
-                this.firePit.add(player.getHand().remove(randIndex));
+                int randIndex = (int) (random.nextDouble() * handSize);
+                Card card = player.getHand().remove(randIndex);
+                this.firePit.add(card);
+
+                for (int i = 0; card != null && i < listeners.size(); i++)
+                    listeners.get(i).cardDiscarded(colour, card);
             }
         }
     }
 
     @Override
     public void discardCard() throws CannotDiscardException {
-        int randIndex = (int) (Math.random() * 4);
+        int randIndex = random.nextInt(4);
         while(randIndex == currentPlayerIndex)
-            randIndex = (int) (Math.random() * 4);
+            randIndex = random.nextInt(4);
 
         discardCard(players.get(randIndex).getColour());
     }
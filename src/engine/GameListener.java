@@ -0,0 +1,42 @@
+package engine;
+
+import engine.board.BoardListener;
+import engine.board.Cell;
+import model.Colour;
+import model.card.Card;
+import model.card.Marble;
+
+/**
+ * Told about the changes of a {@link Game}: the board's moves (see
+ * {@link BoardListener}) and the cards and turns around them. Every method does
+ * nothing by default, so an observer only implements the events it needs.
+ */
+public interface GameListener extends BoardListener {
+
+    @Override
+    default void marbleMoved(Marble marble, Cell from, Cell to) {
+    }
+
+    @Override
+    default void trapMoved(Cell from, Cell to) {
+    }
+
+    /**
+     * {@code card} left the hand of the {@code colour} player for the fire pit.
+     */
+    default void cardDiscarded(Colour colour, Card card) {
+    }
+
+    /**
+     * Every player was dealt a new hand. If the deck ran low, the fire pit was
+     * shuffled back into it first and is now empty.
+     */
+    default void handsDealt(boolean firePitCleared) {
+    }
+
+    /**
+     * The turn passed to the {@code next} player.
+     */
+    default void turnEnded(Colour next) {
+    }
+}
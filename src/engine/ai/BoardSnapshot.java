@@ -0,0 +1,71 @@
+package engine.ai;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import engine.board.Board;
+import engine.board.Cell;
+import engine.board.SafeZone;
+import model.Colour;
+import model.player.Player;
+
+/**
+ * A private copy of a board and of one player's Home Zone as they stood at one
+ * moment, so moves can be worked out on another thread while the game goes on.
+ *
+ * <p>
+ * The copy shares the marbles of the real board but has cells of its own, and
+ * takes the active colour and split distance it was made with. Cells of the copy
+ * map back to the cells in the same place on the real board with
+ * {@link #toBoardCell(Cell)}. A snapshot must be taken on the thread that owns the
+ * game; after that it can be read from any thread.
+ * </p>
+ */
+class BoardSnapshot {
+    private final Board copy;
+    private final Player player;
+    private final Map<Cell, Cell> boardCells = new IdentityHashMap<>();
+
+    BoardSnapshot(Board board, Player player, Colour activeColour) {
+        ArrayList<Colour> colourOrder = new ArrayList<>();
+        for (SafeZone safeZone : board.getSafeZones())
+            colourOrder.add(safeZone.getColour());
+
+        this.copy = new Board(colourOrder, new ScratchGameManager(activeColour), new Random(0));
+        copy.setMetricsRecorded(false);
+        copy.setSplitDistance(board.getSplitDistance());
+        copyCells(board.getTrack(), copy.getTrack());
+        for (int i = 0; i < board.getSafeZones().size(); i++)
+            copyCells(board.getSafeZones().get(i).getCells(), copy.getSafeZones().get(i).getCells());
+
+        // only the colour and the marbles still at home are read when generating moves
+        this.player = new Player(player.getName(), player.getColour(), 0);
+        this.player.getMarbles().clear();
+        this.player.getMarbles().addAll(player.getMarbles());
+    }
+
+    private void copyCells(ArrayList<Cell> from, ArrayList<Cell> to) {
+        for (int i = 0; i < from.size(); i++) {
+            to.get(i).setMarble(from.get(i).getMarble());
+            to.get(i).setTrap(from.get(i).isTrap());
+            boardCells.put(to.get(i), from.get(i));
+        }
+    }
+
+    Board getBoard() {
+        return copy;
+    }
+
+    Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Maps a cell of the copy to the cell in the same place on the real board.
+     */
+    Cell toBoardCell(Cell cell) {
+        return cell == null ? null : boardCells.get(cell);
+    }
+}
@@ -0,0 +1,150 @@
+package engine.ai;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * The {@code CpuWeights} class holds the heuristic weights a CPU player uses to rank
+ * the moves it can make, and the {@link EndgameTable} it plays its home stretch
+ * with, if any. Instances are immutable, so one set of weights can be shared by any
+ * number of CPUs and games.
+ *
+ * <p>
+ * The weights CPUs start with are read once from {@link #WEIGHTS_FILE}, which is
+ * what {@link SelfPlayTuner} writes. Missing entries keep their defaults.
+ * </p>
+ */
+public class CpuWeights {
+    public static final String WEIGHTS_FILE = "cpu.properties";
+
+    public enum Feature {
+        PROGRESS(1),        // per step an own marble moves forward
+        SAFE_ENTRY(10),     // own marble ends the move in its Safe Zone
+        CAPTURE(6),         // an opponent marble is sent home by the move
+        TRAP(-15),          // own marble lands on a trap cell
+        FIELD(8),           // a marble is fielded from the Home Zone
+        DISCARD(2),         // an opponent loses a card (Ten or Queen)
+        BURN(5),            // an opponent marble is burnt (Burner)
+        SAVE(7),            // own marble is sent to the Safe Zone (Saver)
+        SWAP(3),            // own marble swaps places with an opponent (Jack)
+        BACKWARD(-2);       // own marble moves backwards (Four)
+
+        private final double defaultWeight;
+
+        Feature(double defaultWeight) {
+            this.defaultWeight = defaultWeight;
+        }
+
+        public String getKey() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static CpuWeights defaultWeights;
+
+    private final double[] weights;
+    private final EndgameTable endgameTable;
+
+    /**
+     * Creates the built-in weights, without an endgame table.
+     */
+    public CpuWeights() {
+        this.weights = new double[Feature.values().length];
+        for (Feature feature : Feature.values())
+            weights[feature.ordinal()] = feature.defaultWeight;
+        this.endgameTable = null;
+    }
+
+    private CpuWeights(double[] weights, EndgameTable endgameTable) {
+        this.weights = weights;
+        this.endgameTable = endgameTable;
+    }
+
+    public double get(Feature feature) {
+        return weights[feature.ordinal()];
+    }
+
+    public CpuWeights with(Feature feature, double weight) {
+        double[] copy = Arrays.copyOf(weights, weights.length);
+        copy[feature.ordinal()] = weight;
+        return new CpuWeights(copy, endgameTable);
+    }
+
+    /**
+     * Returns the endgame table, or {@code null} if the home stretch is played with
+     * the weights like any other move.
+     */
+    public EndgameTable getEndgameTable() {
+        return endgameTable;
+    }
+
+    public CpuWeights withEndgameTable(EndgameTable endgameTable) {
+        return new CpuWeights(weights, endgameTable);
+    }
+
+    /**
+     * Returns the weights in {@link #WEIGHTS_FILE}, or the defaults if the file is
+     * missing or unreadable, with {@link EndgameTable#getDefault()}. Both are only
+     * read the first time.
+     */
+    public static synchronized CpuWeights getDefault() {
+        if (defaultWeights == null) {
+            CpuWeights loaded = new CpuWeights();
+            if (new File(WEIGHTS_FILE).isFile()) {
+                try {
+                    loaded = load(WEIGHTS_FILE);
+                }
+                catch (IOException | NumberFormatException e) {
+                    System.err.println("Using default CPU weights: " + e.getMessage());
+                }
+            }
+            defaultWeights = loaded.withEndgameTable(EndgameTable.getDefault());
+        }
+
+        return defaultWeights;
+    }
+
+    public static CpuWeights load(String path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new FileReader(path)) {
+            properties.load(reader);
+        }
+
+        CpuWeights loaded = new CpuWeights();
+        for (Feature feature : Feature.values()) {
+            String value = properties.getProperty(feature.getKey());
+            if (value != null)
+                loaded.weights[feature.ordinal()] = Double.parseDouble(value.trim());
+        }
+
+        return loaded;
+    }
+
+    public void save(String path, String comment) throws IOException {
+        Properties properties = new Properties();
+        for (Feature feature : Feature.values())
+            properties.setProperty(feature.getKey(), String.valueOf(get(feature)));
+
+        try (Writer writer = new FileWriter(path)) {
+            properties.store(writer, comment);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Feature feature : Feature.values()) {
+            if (sb.length() > 0)
+                sb.append(", ");
+            sb.append(feature.getKey()).append('=').append(get(feature));
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package engine.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import model.card.Card;
+import model.card.standard.Four;
+import model.card.standard.Standard;
+
+/**
+ * The {@code EndgameTable} gives read access to the best-action tables written by
+ * {@link EndgameTableGenerator}.
+ *
+ * <p>
+ * A position is a bit mask over a player's home stretch: the last
+ * {@link #TRACK_CELLS} track cells up to and including the Entry cell (bits 0-12),
+ * followed by the four Safe Zone cells (bits 13-16). For every position the table
+ * stores the expected number of turns needed to bring all of those marbles into
+ * the Safe Zone, and for every card rank the stretch index of the marble to move.
+ * The file is memory-mapped, so each lookup is a single indexed read.
+ * </p>
+ */
+public class EndgameTable {
+    public static final String TABLE_FILE = "Endgame.tbl";
+    public static final String PATH_PROPERTY = "jackaroo.endgameTable";
+    public static final int TRACK_CELLS = 13;
+    public static final int STRETCH_SIZE = TRACK_CELLS + 4;
+    public static final int MAX_RANK = 13;
+    public static final int POSITIONS = 1 << STRETCH_SIZE;
+    public static final int NO_ACTION = -1;
+
+    static final int MAGIC = 0x4A4B4554;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 4 + MAX_RANK;
+
+    private static EndgameTable defaultTable;
+    private static boolean defaultLoaded;
+
+    private final ByteBuffer buffer;
+
+    private EndgameTable(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public static EndgameTable open(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            if (channel.size() != fileSize())
+                throw new IOException("Unexpected endgame table size: " + path);
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getInt(8) != STRETCH_SIZE || buffer.getInt(12) != MAX_RANK)
+                throw new IOException("Not a version " + VERSION + " endgame table: " + path);
+
+            return new EndgameTable(buffer);
+        }
+    }
+
+    /**
+     * Returns the table at the path in the {@value #PATH_PROPERTY} system property,
+     * loading it on first use, or {@code null} if the property is not set or the
+     * table cannot be read. The working directory is never searched, so whether CPU
+     * players use a table does not depend on files left lying around.
+     */
+    public static synchronized EndgameTable getDefault() {
+        if (!defaultLoaded) {
+            defaultLoaded = true;
+            String path = System.getProperty(PATH_PROPERTY);
+            if (path != null) {
+                try {
+                    defaultTable = open(path);
+                }
+                catch (IOException e) {
+                    System.err.println("Ignoring endgame table: " + e.getMessage());
+                }
+            }
+        }
+
+        return defaultTable;
+    }
+
+    public float getExpectedTurns(int position) {
+        return buffer.getFloat(recordOffset(position));
+    }
+
+    public int getBestAction(int position, int rank) {
+        return buffer.get(recordOffset(position) + 4 + rank - 1);
+    }
+
+    public static int moveMarble(int position, int from, int steps) {
+        return (position & ~(1 << from)) | (1 << (from + steps));
+    }
+
+    /**
+     * Returns how far the card moves one of the player's own marbles forward, or
+     * 0 if it is not a forward move the table covers.
+     */
+    public static int getForwardRank(Card card) {
+        if (!(card instanceof Standard) || card instanceof Four)
+            return 0;
+
+        return ((Standard) card).getRank();
+    }
+
+    static long fileSize() {
+        return HEADER_SIZE + (long) POSITIONS * RECORD_SIZE;
+    }
+
+    static int recordOffset(int position) {
+        return HEADER_SIZE + position * RECORD_SIZE;
+    }
+}
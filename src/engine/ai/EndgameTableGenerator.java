@@ -0,0 +1,227 @@
+package engine.ai;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import engine.board.Board;
+import engine.board.Cell;
+import model.Colour;
+import model.card.Marble;
+
+/**
+ * The {@code EndgameTableGenerator} solves every home-stretch position offline and
+ * writes the result as an {@link EndgameTable}.
+ *
+ * <p>
+ * Each turn is modelled as one card drawn with the rank frequencies of
+ * {@code Cards.csv}. Cards that cannot move a marble forward inside the stretch
+ * (Four, wild cards, or any rank without a legal move) leave the position as it
+ * is. Legality is decided by the real {@link Board} rules on a scratch board, so
+ * blocked paths and Safe Zone bypassing behave exactly as in a game. Since every
+ * move strictly increases the summed stretch index of the marbles, positions are
+ * solved level by level from the most advanced one down, and all positions of a
+ * level are solved in parallel.
+ * </p>
+ *
+ * <p>
+ * Usage: {@code java engine.ai.EndgameTableGenerator [output file]}
+ * </p>
+ */
+public class EndgameTableGenerator {
+    private static final String CARDS_FILE = "Cards.csv";
+    private static final int MAX_MARBLES = 4;
+
+    private final double[] rankWeights;
+    private final float[] values;
+    private final byte[] actions;
+    private final ThreadLocal<Probe> probes;
+
+    public EndgameTableGenerator(double[] rankWeights) {
+        this.rankWeights = rankWeights;
+        this.values = new float[EndgameTable.POSITIONS];
+        this.actions = new byte[EndgameTable.POSITIONS * EndgameTable.MAX_RANK];
+        this.probes = ThreadLocal.withInitial(Probe::new);
+    }
+
+    public void generate() {
+        List<List<Integer>> levels = new ArrayList<>();
+
+        Arrays.fill(values, Float.NaN);
+        Arrays.fill(actions, (byte) EndgameTable.NO_ACTION);
+
+        for (int position = 0; position < EndgameTable.POSITIONS; position++) {
+            if (Integer.bitCount(position) > MAX_MARBLES)
+                continue;
+
+            int level = progress(position);
+            while (levels.size() <= level)
+                levels.add(new ArrayList<>());
+            levels.get(level).add(position);
+        }
+
+        for (int level = levels.size() - 1; level >= 0; level--)
+            levels.get(level).parallelStream().forEach(this::solve);
+    }
+
+    public float getExpectedTurns(int position) {
+        return values[position];
+    }
+
+    public int getBestAction(int position, int rank) {
+        return actions[position * EndgameTable.MAX_RANK + rank - 1];
+    }
+
+    public void write(String path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path, "rw");
+             FileChannel channel = file.getChannel()) {
+            file.setLength(EndgameTable.fileSize());
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, EndgameTable.fileSize());
+
+            buffer.putInt(EndgameTable.MAGIC);
+            buffer.putInt(EndgameTable.VERSION);
+            buffer.putInt(EndgameTable.STRETCH_SIZE);
+            buffer.putInt(EndgameTable.MAX_RANK);
+
+            for (int position = 0; position < EndgameTable.POSITIONS; position++) {
+                buffer.putFloat(values[position]);
+                buffer.put(actions, position * EndgameTable.MAX_RANK, EndgameTable.MAX_RANK);
+            }
+
+            buffer.force();
+        }
+    }
+
+    private void solve(int position) {
+        if ((position & ((1 << EndgameTable.TRACK_CELLS) - 1)) == 0) {
+            values[position] = 0;
+            return;
+        }
+
+        Probe probe = probes.get();
+        probe.place(position);
+
+        double movable = 0;
+        double expected = 0;
+
+        for (int rank = 1; rank <= EndgameTable.MAX_RANK; rank++) {
+            int best = EndgameTable.NO_ACTION;
+            float bestValue = Float.POSITIVE_INFINITY;
+
+            for (int i = 0; i < EndgameTable.STRETCH_SIZE; i++) {
+                if ((position & (1 << i)) == 0 || !probe.board.isValidMove(probe.marbles[i], rank, false))
+                    continue;
+
+                float value = values[EndgameTable.moveMarble(position, i, rank)];
+                if (best == EndgameTable.NO_ACTION || value < bestValue) {
+                    best = i;
+                    bestValue = value;
+                }
+            }
+
+            actions[position * EndgameTable.MAX_RANK + rank - 1] = (byte) best;
+
+            if (best != EndgameTable.NO_ACTION && !Float.isInfinite(bestValue)) {
+                movable += rankWeights[rank];
+                expected += rankWeights[rank] * bestValue;
+            }
+        }
+
+        values[position] = movable == 0 ? Float.POSITIVE_INFINITY : (float) ((1 + expected) / movable);
+    }
+
+    private static int progress(int position) {
+        int progress = 0;
+        for (int i = 0; i < EndgameTable.STRETCH_SIZE; i++) {
+            if ((position & (1 << i)) != 0)
+                progress += i;
+        }
+
+        return progress;
+    }
+
+    /**
+     * Reads the share of the card pool taken by each forward-moving rank, indexed
+     * 1 to 13. Fours move backwards and wild cards do not move, so they only count
+     * towards the total.
+     */
+    @SuppressWarnings("resource")
+    public static double[] loadRankWeights(String cardsFile) throws IOException {
+        double[] weights = new double[EndgameTable.MAX_RANK + 1];
+        int total = 0;
+
+        BufferedReader br = new BufferedReader(new FileReader(cardsFile));
+
+        while (br.ready()) {
+            String nextLine = br.readLine();
+            String[] data = nextLine.split(",");
+
+            if (data.length < 2)
+                throw new IOException(nextLine);
+
+            int code = Integer.parseInt(data[0]);
+            int frequency = Integer.parseInt(data[1]);
+            total += frequency;
+
+            if (code <= 13) {
+                int rank = Integer.parseInt(data[4]);
+                if (rank != 4)
+                    weights[rank] += frequency;
+            }
+        }
+
+        br.close();
+
+        for (int rank = 1; rank <= EndgameTable.MAX_RANK; rank++)
+            weights[rank] /= total;
+
+        return weights;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String output = args.length > 0 ? args[0] : EndgameTable.TABLE_FILE;
+        long start = System.currentTimeMillis();
+
+        EndgameTableGenerator generator = new EndgameTableGenerator(loadRankWeights(CARDS_FILE));
+        generator.generate();
+        generator.write(output);
+
+        System.out.println("Wrote " + output + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * An empty, trap-free board owned by one worker thread, with one marble ready
+     * for every cell of the first colour's home stretch.
+     */
+    private static class Probe {
+        private final Board board;
+        private final ArrayList<Cell> stretch;
+        private final Marble[] marbles;
+
+        Probe() {
+            ArrayList<Colour> colourOrder = new ArrayList<>(Arrays.asList(Colour.values()));
+            Colour colour = colourOrder.get(0);
+
+            board = new Board(colourOrder, new ScratchGameManager(colour));
+            board.setMetricsRecorded(false);
+            for (Cell cell : board.getTrack())
+                cell.setTrap(false);
+
+            stretch = board.getHomeStretch(colour, EndgameTable.TRACK_CELLS);
+            marbles = new Marble[EndgameTable.STRETCH_SIZE];
+            for (int i = 0; i < marbles.length; i++)
+                marbles[i] = new Marble(colour, 0);
+        }
+
+        void place(int position) {
+            for (int i = 0; i < EndgameTable.STRETCH_SIZE; i++)
+                stretch.get(i).setMarble((position & (1 << i)) != 0 ? marbles[i] : null);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package engine.ai;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import engine.Game;
+import model.card.Card;
+import model.player.Player;
+
+/**
+ * The {@code HintService} works out the legal moves of the player whose turn it is,
+ * one card at a time, on a background thread.
+ *
+ * <p>
+ * The background thread never reads the live board: {@link #startTurn()} takes a
+ * {@link BoardSnapshot} on the calling thread, which must be the one that owns the
+ * game, and the moves are generated on that copy while the game goes on.
+ * {@link #startTurn()} queues every card in the active player's hand so the answers
+ * are usually ready before they are asked for, and a user interface that must not
+ * wait for them can take them with {@link #requestHints(Card)} instead. Suggestions
+ * are scored with the same {@link MoveEvaluator} the CPU players use.
+ * </p>
+ *
+ * <p>
+ * Results are cached by the board's {@link engine.board.Board#getStateHash() state
+ * hash} and the card, so a card is validated once per position no matter how often
+ * it is hovered, selected or reselected. The state hash is only a hash: two
+ * positions can share one, and then the answer of one may be served for the other.
+ * That is rare and only costs a wrong hint, since every move is still checked by the
+ * rules when it is played.
+ * </p>
+ */
+public class HintService {
+    public static final int CACHE_SIZE = 32;
+
+    private final Game game;
+    private final CpuWeights weights;
+    private final ExecutorService executor;
+    private final Map<HintKey, CompletableFuture<LegalMoves>> hints;
+
+    public HintService(Game game) {
+        this(game, CpuWeights.getDefault());
+    }
+
+    public HintService(Game game, CpuWeights weights) {
+        this(game, weights, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hint-service");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Creates a service that works out its hints on {@code executor}, which
+     * {@link #shutdown()} shuts down.
+     */
+    public HintService(Game game, CpuWeights weights, ExecutorService executor) {
+        this.game = game;
+        this.weights = weights;
+        this.executor = executor;
+        this.hints = new LinkedHashMap<HintKey, CompletableFuture<LegalMoves>>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<HintKey, CompletableFuture<LegalMoves>> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Starts computing the hints of every card in the active player's hand for the
+     * current position. Call this whenever the turn passes or the hand changes.
+     */
+    public synchronized void startTurn() {
+        Player player = getActivePlayer();
+        long stateHash = game.getBoard().getStateHash();
+        BoardSnapshot snapshot = null;
+
+        for (Card card : new ArrayList<>(player.getHand())) {
+            HintKey key = new HintKey(stateHash, card);
+            if (card == null || hints.containsKey(key))
+                continue;
+
+            if (snapshot == null)
+                snapshot = new BoardSnapshot(game.getBoard(), player, game.getActivePlayerColour());
+            queue(key, snapshot, card);
+        }
+    }
+
+    /**
+     * Returns the legal moves of a card for the current position without waiting for
+     * them. The future completes on the service's thread, or has already completed if
+     * the moves were known; a card that was not queued by {@link #startTurn()} is
+     * queued now.
+     */
+    public synchronized CompletableFuture<LegalMoves> requestHints(Card card) {
+        HintKey key = new HintKey(game.getBoard().getStateHash(), card);
+        CompletableFuture<LegalMoves> hint = hints.get(key);
+        if (hint == null)
+            hint = queue(key, new BoardSnapshot(game.getBoard(), getActivePlayer(), game.getActivePlayerColour()), card);
+        return hint;
+    }
+
+    private CompletableFuture<LegalMoves> queue(HintKey key, BoardSnapshot snapshot, Card card) {
+        CompletableFuture<LegalMoves> hint = CompletableFuture.supplyAsync(() -> generate(key, snapshot, card), executor);
+        hints.put(key, hint);
+        return hint;
+    }
+
+    /**
+     * Generates the moves of a card on a snapshot. Cards check marble colours against
+     * the live game, so if the turn passed meanwhile the answer is dropped from the
+     * cache rather than kept for the position it was queued for.
+     */
+    private LegalMoves generate(HintKey key, BoardSnapshot snapshot, Card card) {
+        LegalMoves moves = LegalMoves.generate(snapshot, card, weights);
+        if (game.getActivePlayerColour() != snapshot.getPlayer().getColour()) {
+            synchronized (this) {
+                hints.remove(key);
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Returns the legal moves of a card for the current position, waiting for the
+     * background computation if it has not finished yet. Cards that were not queued
+     * by {@link #startTurn()} are computed on the calling thread and cached.
+     */
+    public LegalMoves getHints(Card card) {
+        CompletableFuture<LegalMoves> hint;
+
+        synchronized (this) {
+            HintKey key = new HintKey(game.getBoard().getStateHash(), card);
+            hint = hints.get(key);
+
+            if (hint == null) {
+                Player player = getActivePlayer();
+                BoardSnapshot snapshot = new BoardSnapshot(game.getBoard(), player, game.getActivePlayerColour());
+                hint = new CompletableFuture<>();
+                try {
+                    hint.complete(LegalMoves.generate(snapshot, card, weights));
+                }
+                catch (RuntimeException e) {
+                    hint.completeExceptionally(e);
+                }
+                hints.put(key, hint);
+            }
+        }
+
+        try {
+            return hint.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Could not compute hints for " + card.getName(), e.getCause());
+        }
+    }
+
+    /**
+     * Returns the best scoring move over the whole hand, or {@code null} if no card
+     * can be played.
+     */
+    public LegalMoves.Move getSuggestion() {
+        ArrayList<Card> hand;
+        synchronized (this) {
+            hand = new ArrayList<>(getActivePlayer().getHand());
+        }
+
+        LegalMoves.Move best = null;
+        for (Card card : hand) {
+            if (card == null)
+                continue;
+
+            LegalMoves moves = getHints(card);
+            LegalMoves.Move move = moves == null ? null : moves.getBestMove();
+            if (move != null && (best == null || move.getScore() > best.getScore()))
+                best = move;
+        }
+
+        return best;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Player getActivePlayer() {
+        for (Player candidate : game.getPlayers()) {
+            if (candidate.getColour() == game.getActivePlayerColour())
+                return candidate;
+        }
+
+        return game.getPlayers().get(0);
+    }
+
+    /**
+     * Cache key of one card in one position. Cards are compared by identity, as two
+     * copies of the same card are still different cards in a hand.
+     */
+    private static class HintKey {
+        private final long stateHash;
+        private final Card card;
+
+        HintKey(long stateHash, Card card) {
+            this.stateHash = stateHash;
+            this.card = card;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof HintKey))
+                return false;
+
+            HintKey other = (HintKey) obj;
+            return stateHash == other.stateHash && card == other.card;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(stateHash) * 31 + System.identityHashCode(card);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package engine.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import engine.board.Board;
+import engine.board.Cell;
+import model.Colour;
+import model.card.Card;
+import model.card.Marble;
+import model.card.standard.Ace;
+import model.card.standard.Four;
+import model.card.standard.Jack;
+import model.card.standard.King;
+import model.card.standard.Seven;
+import model.card.standard.Standard;
+import model.card.wild.Burner;
+import model.card.wild.Saver;
+import model.player.Player;
+
+/**
+ * The {@code LegalMoves} class lists every move the active player can make with one
+ * card, together with the cells each move would send its marbles to.
+ *
+ * <p>
+ * Moves are found with the board's read-only probes, so generating them never
+ * touches the board and never throws. A two-marble {@link Seven} is listed once per
+ * split distance that is legal for the pair, as found by {@link SevenEnumerator}.
+ * </p>
+ */
+public class LegalMoves {
+    private final Card card;
+    private final ArrayList<Move> moves;
+
+    private LegalMoves(Card card, ArrayList<Move> moves) {
+        this.card = card;
+        this.moves = moves;
+    }
+
+    public Card getCard() {
+        return card;
+    }
+
+    public ArrayList<Move> getMoves() {
+        return moves;
+    }
+
+    public boolean isEmpty() {
+        return moves.isEmpty();
+    }
+
+    /**
+     * Returns the split distances, in increasing order, for which a two-marble Seven
+     * has at least one legal move.
+     */
+    public ArrayList<Integer> getSplitDistances() {
+        ArrayList<Integer> splits = new ArrayList<>();
+        for (Move move : moves) {
+            if (move.getSplitDistance() != 0 && !splits.contains(move.getSplitDistance()))
+                splits.add(move.getSplitDistance());
+        }
+
+        Collections.sort(splits);
+        return splits;
+    }
+
+    /**
+     * Returns the moves that can be played with the given split distance: every
+     * move that does not split, plus the two-marble Sevens split exactly there.
+     */
+    public LegalMoves forSplit(int splitDistance) {
+        ArrayList<Move> matching = new ArrayList<>();
+        for (Move move : moves) {
+            if (move.getSplitDistance() == 0 || move.getSplitDistance() == splitDistance)
+                matching.add(move);
+        }
+
+        return new LegalMoves(card, matching);
+    }
+
+    /**
+     * Returns the marbles that take part in at least one legal move, each once.
+     */
+    public ArrayList<Marble> getPlayableMarbles() {
+        ArrayList<Marble> playable = new ArrayList<>();
+        for (Move move : moves) {
+            for (Marble marble : move.getMarbles()) {
+                if (!containsMarble(playable, marble))
+                    playable.add(marble);
+            }
+        }
+
+        return playable;
+    }
+
+    /**
+     * Returns every cell the given marble can end up on with this card.
+     */
+    public ArrayList<Cell> getTargets(Marble marble) {
+        ArrayList<Cell> targets = new ArrayList<>();
+        for (Move move : moves) {
+            for (int i = 0; i < move.getMarbles().size(); i++) {
+                Cell target = move.getTargets().get(i);
+                if (move.getMarbles().get(i) == marble && target != null && !targets.contains(target))
+                    targets.add(target);
+            }
+        }
+
+        return targets;
+    }
+
+    /**
+     * Returns the highest scoring move, or {@code null} if the card cannot be played.
+     */
+    public Move getBestMove() {
+        Move best = null;
+        for (Move move : moves) {
+            if (best == null || move.getScore() > best.getScore())
+                best = move;
+        }
+
+        return best;
+    }
+
+    public static LegalMoves generate(Board board, Player player, Card card, MoveEvaluator evaluator) {
+        return generate(board, player, card, evaluator, null);
+    }
+
+    /**
+     * Generates the moves of {@code card}, splitting Sevens with the given enumerator
+     * so that callers generating moves every turn can keep reusing its scratch board.
+     */
+    public static LegalMoves generate(Board board, Player player, Card card, MoveEvaluator evaluator, SevenEnumerator sevenEnumerator) {
+        ArrayList<Move> moves = new ArrayList<>();
+        Colour colour = player.getColour();
+        ArrayList<Marble> none = new ArrayList<>();
+
+        if (card.validateMarbleSize(none)) {
+            if (card instanceof Ace || card instanceof King) {
+                Cell baseCell = board.getFieldingCell(colour);
+                if (player.getOneMarble() != null && baseCell != null)
+                    moves.add(new Move(card, none, 0, Collections.singletonList(baseCell), evaluator.score(colour, card, none)));
+            }
+            else
+                moves.add(new Move(card, none, 0, Collections.<Cell>emptyList(), evaluator.score(colour, card, none)));
+        }
+
+        ArrayList<Marble> marbles = board.getActionableMarbles();
+
+        for (Marble marble : marbles) {
+            ArrayList<Marble> single = listOf(marble);
+            if (!card.validateMarbleSize(single) || !card.validateMarbleColours(single))
+                continue;
+
+            if (card instanceof Saver) {
+                if (board.canSave(marble))
+                    moves.add(new Move(card, single, 0, Collections.<Cell>singletonList(null), evaluator.score(colour, card, single)));
+                continue;
+            }
+
+            Cell target = getTarget(board, card, marble);
+            if (target != null)
+                moves.add(new Move(card, single, 0, Collections.singletonList(target), evaluator.score(colour, card, single)));
+        }
+
+        if (card instanceof Seven) {
+            if (sevenEnumerator == null)
+                sevenEnumerator = new SevenEnumerator(board);
+            moves.addAll(sevenEnumerator.enumerate(colour, card, marbles, evaluator));
+        }
+
+        else if (card instanceof Jack) {
+            for (int i = 0; i < marbles.size(); i++) {
+                for (int j = i + 1; j < marbles.size(); j++) {
+                    // a swap is the same move either way round
+                    Marble first = marbles.get(i);
+                    Marble second = marbles.get(j);
+                    ArrayList<Marble> pair = listOf(first, second);
+
+                    if (card.validateMarbleColours(pair) && board.canSwap(first, second))
+                        moves.add(new Move(card, pair, 0, listOf(board.getCell(second), board.getCell(first)), evaluator.score(colour, card, pair)));
+                }
+            }
+        }
+
+        return new LegalMoves(card, moves);
+    }
+
+    /**
+     * Generates the moves of {@code card} on a snapshot of the board, scored against
+     * the snapshot, with every target mapped back to the cell of the real board.
+     */
+    static LegalMoves generate(BoardSnapshot snapshot, Card card, CpuWeights weights) {
+        Board board = snapshot.getBoard();
+        LegalMoves generated = generate(board, snapshot.getPlayer(), card, new MoveEvaluator(board, weights));
+
+        ArrayList<Move> moves = new ArrayList<>(generated.moves.size());
+        for (Move move : generated.moves) {
+            ArrayList<Cell> targets = new ArrayList<>(move.getTargets().size());
+            for (Cell target : move.getTargets())
+                targets.add(snapshot.toBoardCell(target));
+            moves.add(new Move(card, move.getMarbles(), move.getSplitDistance(), targets, move.getScore()));
+        }
+
+        return new LegalMoves(card, moves);
+    }
+
+    private static Cell getTarget(Board board, Card card, Marble marble) {
+        if (card instanceof Burner)
+            return board.canDestroy(marble) ? board.getCell(marble) : null;
+
+        if (card instanceof Four)
+            return board.getDestination(marble, -4, false);
+
+        if (card instanceof King)
+            return board.getDestination(marble, 13, true);
+
+        if (card instanceof Standard)
+            return board.getDestination(marble, ((Standard) card).getRank(), false);
+
+        return null;
+    }
+
+    private static boolean containsMarble(ArrayList<Marble> marbles, Marble marble) {
+        // Marble.equals only compares colour and owner, so look for this exact marble.
+        for (Marble other : marbles) {
+            if (other == marble)
+                return true;
+        }
+
+        return false;
+    }
+
+    @SafeVarargs
+    private static <T> ArrayList<T> listOf(T... items) {
+        ArrayList<T> list = new ArrayList<>(items.length);
+        for (T item : items)
+            list.add(item);
+        return list;
+    }
+
+    /**
+     * One legal way to play the card: the marbles to select, the split distance for a
+     * two-marble Seven (0 otherwise) and where each marble ends up. A target is
+     * {@code null} when it is only decided while playing, as with a {@link Saver}.
+     */
+    public static class Move {
+        private final Card card;
+        private final ArrayList<Marble> marbles;
+        private final int splitDistance;
+        private final ArrayList<Cell> targets;
+        private final double score;
+
+        Move(Card card, ArrayList<Marble> marbles, int splitDistance, List<Cell> targets, double score) {
+            this.card = card;
+            this.marbles = marbles;
+            this.splitDistance = splitDistance;
+            this.targets = new ArrayList<>(targets);
+            this.score = score;
+        }
+
+        public Card getCard() {
+            return card;
+        }
+
+        public ArrayList<Marble> getMarbles() {
+            return marbles;
+        }
+
+        public int getSplitDistance() {
+            return splitDistance;
+        }
+
+        public ArrayList<Cell> getTargets() {
+            return targets;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package engine.ai;
+
+import java.util.ArrayList;
+
+import engine.board.Board;
+import engine.board.BoardManager;
+import engine.board.Cell;
+import engine.board.CellType;
+import model.Colour;
+import model.card.Card;
+import model.card.Marble;
+import model.card.standard.Ace;
+import model.card.standard.Four;
+import model.card.standard.Jack;
+import model.card.standard.King;
+import model.card.standard.Queen;
+import model.card.standard.Seven;
+import model.card.standard.Standard;
+import model.card.standard.Ten;
+import model.card.wild.Burner;
+import model.card.wild.Saver;
+
+/**
+ * The {@code MoveEvaluator} scores a card and marble selection before it is played,
+ * as the weighted sum of the {@link CpuWeights.Feature features} the move would
+ * trigger. It only reads the board, so it is cheap enough to score every candidate
+ * a CPU considers; whether the move is legal is still decided when it is played.
+ */
+public class MoveEvaluator {
+    private final BoardManager boardManager;
+    private final CpuWeights weights;
+
+    public MoveEvaluator(BoardManager boardManager, CpuWeights weights) {
+        this.boardManager = boardManager;
+        this.weights = weights;
+    }
+
+    public CpuWeights getWeights() {
+        return weights;
+    }
+
+    public double score(Colour colour, Card card, ArrayList<Marble> marbles) {
+        return score(colour, card, marbles, boardManager.getSplitDistance());
+    }
+
+    /**
+     * Scores the selection as if a two-marble {@link Seven} were split at
+     * {@code splitDistance} rather than at the board's current split distance.
+     */
+    public double score(Colour colour, Card card, ArrayList<Marble> marbles, int splitDistance) {
+        if (marbles.isEmpty()) {
+            if (card instanceof Ace || card instanceof King)
+                return weights.get(CpuWeights.Feature.FIELD);
+
+            if (card instanceof Ten || card instanceof Queen)
+                return weights.get(CpuWeights.Feature.DISCARD);
+
+            return 0;
+        }
+
+        if (card instanceof Burner)
+            return weights.get(CpuWeights.Feature.BURN);
+
+        if (card instanceof Saver)
+            return weights.get(CpuWeights.Feature.SAVE);
+
+        if (marbles.size() == 2) {
+            if (card instanceof Jack)
+                return weights.get(CpuWeights.Feature.SWAP);
+
+            if (card instanceof Seven)
+                return scoreMove(colour, marbles.get(0), splitDistance) + scoreMove(colour, marbles.get(1), 7 - splitDistance);
+
+            return 0;
+        }
+
+        if (card instanceof Four)
+            return weights.get(CpuWeights.Feature.BACKWARD);
+
+        if (card instanceof Standard)
+            return scoreMove(colour, marbles.get(0), ((Standard) card).getRank());
+
+        return 0;
+    }
+
+    private double scoreMove(Colour colour, Marble marble, int steps) {
+        boolean own = marble.getColour() == colour;
+        double score = own ? steps * weights.get(CpuWeights.Feature.PROGRESS) : 0;
+
+        if (!(boardManager instanceof Board))
+            return score;
+
+        Cell target = ((Board) boardManager).getTargetCell(marble, steps);
+        if (target == null)
+            return score;
+
+        if (target.getMarble() != null && target.getMarble() != marble && target.getMarble().getColour() != colour)
+            score += weights.get(CpuWeights.Feature.CAPTURE);
+
+        if (own && target.getCellType() == CellType.SAFE)
+            score += weights.get(CpuWeights.Feature.SAFE_ENTRY);
+
+        if (own && target.isTrap())
+            score += weights.get(CpuWeights.Feature.TRAP);
+
+        return score;
+    }
+}
@@ -0,0 +1,48 @@
+package engine.ai;
+
+import engine.GameManager;
+import model.Colour;
+import model.card.Marble;
+
+/**
+ * A {@link GameManager} with no players behind it, used by boards that only
+ * exist to probe the rules offline. Marbles sent home simply leave the board
+ * and the active colour is whatever the prober sets.
+ */
+class ScratchGameManager implements GameManager {
+    private Colour activeColour;
+
+    ScratchGameManager(Colour activeColour) {
+        this.activeColour = activeColour;
+    }
+
+    void setActivePlayerColour(Colour activeColour) {
+        this.activeColour = activeColour;
+    }
+
+    @Override
+    public void sendHome(Marble marble) {
+    }
+
+    @Override
+    public void fieldMarble() {
+    }
+
+    @Override
+    public void discardCard(Colour colour) {
+    }
+
+    @Override
+    public void discardCard() {
+    }
+
+    @Override
+    public Colour getActivePlayerColour() {
+        return activeColour;
+    }
+
+    @Override
+    public Colour getNextPlayerColour() {
+        return activeColour;
+    }
+}
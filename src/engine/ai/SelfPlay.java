@@ -0,0 +1,116 @@
+package engine.ai;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+import engine.Game;
+import exception.GameException;
+import model.Colour;
+import model.player.CPU;
+import model.player.Player;
+
+/**
+ * The {@code SelfPlay} class runs whole games between CPU players on the headless
+ * engine. Every game is built from a seed, so replaying the same seed with the
+ * same weights replays the same game.
+ */
+public class SelfPlay {
+    public static final int MAX_TURNS = 4000;
+
+    private SelfPlay() {
+    }
+
+    /**
+     * Creates a seeded game in which every seat is a CPU playing the built-in
+     * {@link CpuWeights#CpuWeights() weights} without an endgame table, so the game
+     * does not depend on any tuned weights file or generated table.
+     */
+    public static Game createGame(long seed) throws IOException {
+        CpuWeights[] seatWeights = new CpuWeights[4];
+        for (int i = 0; i < seatWeights.length; i++)
+            seatWeights[i] = new CpuWeights();
+        return createGame(seed, seatWeights);
+    }
+
+    /**
+     * Creates a seeded game in which every seat is a CPU, built the same way
+     * {@link Game} builds its CPU players. Seat {@code i} uses {@code seatWeights[i]}.
+     */
+    public static Game createGame(long seed, CpuWeights[] seatWeights) throws IOException {
+        Game game = new Game("CPU 0", seed);
+        ArrayList<Player> players = game.getPlayers();
+
+        for (int i = 0; i < players.size(); i++) {
+            Player seat = players.get(i);
+            CPU cpu = new CPU("CPU " + i, seat.getColour(), 0, game.getBoard(), seatWeights[i], new Random(seed * 31 + i));
+            cpu.setHand(seat.getHand());
+            players.set(i, cpu);
+        }
+
+        return game;
+    }
+
+    /**
+     * Plays turns until someone wins or {@code maxTurns} turns have passed.
+     *
+     * @return the winning colour, or {@code null} if the game was cut off
+     */
+    public static Colour playOut(Game game, int maxTurns) {
+        for (int i = 0; i < maxTurns; i++) {
+            Colour winner = game.checkWin();
+            if (winner != null)
+                return winner;
+
+            playTurn(game);
+        }
+
+        return game.checkWin();
+    }
+
+    /**
+     * Plays CPU turns back to back, with no pauses in between, until a human player
+     * is to move, someone wins or {@code maxTurns} turns have passed.
+     *
+     * @return the number of turns played
+     */
+    public static int fastForward(Game game, int maxTurns) {
+        int played = 0;
+        while (played < maxTurns && game.checkWin() == null && isCpuToMove(game)) {
+            playTurn(game);
+            played++;
+        }
+
+        return played;
+    }
+
+    public static boolean isCpuToMove(Game game) {
+        return game.getPlayers().get(seatOf(game, game.getActivePlayerColour())) instanceof CPU;
+    }
+
+    public static void playTurn(Game game) {
+        if (game.canPlayTurn()) {
+            try {
+                game.playPlayerTurn();
+            }
+            catch (GameException e) {
+                // the CPU found nothing it could play and discards instead
+            }
+        }
+
+        game.endPlayerTurn();
+    }
+
+    /**
+     * Returns the seat index of the given colour in the game.
+     */
+    public static int seatOf(Game game, Colour colour) {
+        ArrayList<Player> players = game.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getColour() == colour)
+                return i;
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,217 @@
+package engine.ai;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import engine.Game;
+import model.Colour;
+
+/**
+ * The {@code SelfPlayTuner} tunes {@link CpuWeights} by letting CPU variants play
+ * each other on the headless engine.
+ *
+ * <p>
+ * Each iteration nudges one weight and plays the resulting candidate against the
+ * current best. Games are played in pairs on the same seed with the seats swapped,
+ * two seats per side, on one worker thread per core. After every batch a
+ * sequential probability ratio test decides between "no better" (0 Elo) and
+ * "better" ({@link #ELO_1} Elo); accepted candidates become the new best and are
+ * written to the weights file straight away. All seeds come from the master seed
+ * and results are counted in submission order, so a run is fully reproducible.
+ * </p>
+ *
+ * <p>
+ * Usage: {@code java engine.ai.SelfPlayTuner [seed] [iterations] [output file]}
+ * </p>
+ */
+public class SelfPlayTuner {
+    public static final double ELO_0 = 0;
+    public static final double ELO_1 = 20;
+    public static final double ALPHA = 0.05;
+    public static final double BETA = 0.05;
+    public static final int MAX_GAMES = 4000;
+
+    private final Random random;
+    private final int threads;
+
+    public SelfPlayTuner(long seed, int threads) {
+        this.random = new Random(seed);
+        this.threads = threads;
+    }
+
+    public CpuWeights tune(CpuWeights start, int iterations, String output) throws IOException {
+        CpuWeights.Feature[] features = CpuWeights.Feature.values();
+        CpuWeights best = start;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            for (int i = 0; i < iterations; i++) {
+                CpuWeights.Feature feature = features[i % features.length];
+                double weight = best.get(feature);
+                double step = Math.max(1, Math.abs(weight) / 4) * (random.nextBoolean() ? 1 : -1);
+                CpuWeights candidate = best.with(feature, weight + step);
+
+                MatchResult result = match(executor, candidate, best);
+                System.out.printf("%2d %-10s %7.2f -> %7.2f  %s%n", i + 1, feature.getKey(), weight, weight + step, result);
+
+                if (result.isAccepted()) {
+                    best = candidate;
+                    best.save(output, "Tuned by SelfPlayTuner: " + best);
+                }
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        return best;
+    }
+
+    /**
+     * Plays pairs of games between the two weight sets until the SPRT reaches a
+     * decision or {@link #MAX_GAMES} games have been played.
+     */
+    public MatchResult match(ExecutorService executor, CpuWeights candidate, CpuWeights baseline) {
+        MatchResult result = new MatchResult();
+        CpuWeights[] candidateFirst = { candidate, baseline, candidate, baseline };
+        CpuWeights[] baselineFirst = { baseline, candidate, baseline, candidate };
+
+        while (result.getGames() < MAX_GAMES && !result.isDecided()) {
+            List<Future<Double>> batch = new ArrayList<>();
+
+            for (int i = 0; i < threads * 2; i++) {
+                long seed = random.nextLong();
+                batch.add(executor.submit(() -> play(seed, candidateFirst, candidate)));
+                batch.add(executor.submit(() -> play(seed, baselineFirst, candidate)));
+            }
+
+            for (Future<Double> game : batch) {
+                try {
+                    result.add(game.get());
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return result;
+                }
+                catch (ExecutionException e) {
+                    throw new IllegalStateException("Self-play game failed", e.getCause());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Plays one game and returns the candidate's score: 1 for a win, 0 for a loss
+     * and 0.5 if the game was cut off.
+     */
+    private static double play(long seed, CpuWeights[] seatWeights, CpuWeights candidate) throws IOException {
+        Game game = SelfPlay.createGame(seed, seatWeights);
+        Colour winner = SelfPlay.playOut(game, SelfPlay.MAX_TURNS);
+
+        if (winner == null)
+            return 0.5;
+
+        return seatWeights[SelfPlay.seatOf(game, winner)] == candidate ? 1 : 0;
+    }
+
+    public static double expectedScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    public static void main(String[] args) throws IOException {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 1;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        String output = args.length > 2 ? args[2] : CpuWeights.WEIGHTS_FILE;
+
+        SelfPlayTuner tuner = new SelfPlayTuner(seed, Runtime.getRuntime().availableProcessors());
+        CpuWeights tuned = tuner.tune(CpuWeights.getDefault(), iterations, output);
+
+        System.out.println("Best weights: " + tuned);
+    }
+
+    /**
+     * Win, draw and loss counts of a candidate, with its Elo estimate and SPRT state.
+     */
+    public static class MatchResult {
+        private int wins;
+        private int draws;
+        private int losses;
+
+        public MatchResult() {
+        }
+
+        public MatchResult(int wins, int draws, int losses) {
+            this.wins = wins;
+            this.draws = draws;
+            this.losses = losses;
+        }
+
+        void add(double score) {
+            if (score == 1)
+                wins++;
+            else if (score == 0)
+                losses++;
+            else
+                draws++;
+        }
+
+        public int getGames() {
+            return wins + draws + losses;
+        }
+
+        public double getScore() {
+            return getGames() == 0 ? 0.5 : (wins + draws / 2.0) / getGames();
+        }
+
+        public double getElo() {
+            double score = Math.min(Math.max(getScore(), 1e-6), 1 - 1e-6);
+            return -400 * Math.log10(1 / score - 1);
+        }
+
+        /**
+         * Log-likelihood ratio of H1 (+{@link #ELO_1}) against H0 (+{@link #ELO_0}),
+         * using the normal approximation of the score distribution.
+         */
+        public double getLlr() {
+            int games = getGames();
+            if (games == 0)
+                return 0;
+
+            double score = getScore();
+            double variance = (wins * Math.pow(1 - score, 2) + draws * Math.pow(0.5 - score, 2)
+                    + losses * Math.pow(score, 2)) / games;
+            if (variance == 0)
+                return 0;
+
+            double s0 = expectedScore(ELO_0);
+            double s1 = expectedScore(ELO_1);
+            return (s1 - s0) * (2 * score - s0 - s1) * games / (2 * variance);
+        }
+
+        public boolean isAccepted() {
+            return getLlr() >= Math.log((1 - BETA) / ALPHA);
+        }
+
+        public boolean isRejected() {
+            return getLlr() <= Math.log(BETA / (1 - ALPHA));
+        }
+
+        public boolean isDecided() {
+            return isAccepted() || isRejected();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("+%d =%d -%d  elo %+.1f  llr %.2f  %s", wins, draws, losses, getElo(), getLlr(),
+                    isAccepted() ? "accepted" : isRejected() ? "rejected" : "undecided");
+        }
+    }
+}
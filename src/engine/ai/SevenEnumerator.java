@@ -0,0 +1,139 @@
+package engine.ai;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import engine.board.Board;
+import engine.board.Cell;
+import engine.board.SafeZone;
+import exception.GameException;
+import model.Colour;
+import model.card.Card;
+import model.card.Marble;
+
+/**
+ * The {@code SevenEnumerator} finds every legal way to split a Seven between two
+ * marbles: each split distance from 1 to 6, for each ordered pair of marbles.
+ *
+ * <p>
+ * A split is only legal if the second leg is still possible after the first one has
+ * been played, since the first marble may have captured, blocked or unblocked the
+ * second. The first leg is therefore played on a scratch copy of the board and the
+ * second leg is checked against that copy. Splits whose first leg is illegal on the
+ * real board are pruned before anything is copied, and one copy per first leg is
+ * shared by all the second marbles it is paired with.
+ * </p>
+ *
+ * <p>
+ * The first legs are tried one after the other on a single scratch board. A whole
+ * hand of four marbles takes some tens of microseconds, less than handing the legs
+ * to other threads would cost, and the games that call this already keep every
+ * core busy: the {@link engine.server.GameServer} pool, the {@link SelfPlayTuner}
+ * workers and the benchmark each play one game per thread. An enumerator is
+ * therefore not thread safe; each CPU player keeps its own.
+ * </p>
+ */
+public class SevenEnumerator {
+    private final Board board;
+    private final ScratchGameManager scratchManager;
+    private final Board scratch;
+
+    public SevenEnumerator(Board board) {
+        this.board = board;
+
+        ArrayList<Colour> colourOrder = new ArrayList<>();
+        for (SafeZone safeZone : board.getSafeZones())
+            colourOrder.add(safeZone.getColour());
+
+        this.scratchManager = new ScratchGameManager(colourOrder.get(0));
+        this.scratch = new Board(colourOrder, scratchManager, new Random(0));
+        scratch.setMetricsRecorded(false);
+    }
+
+    /**
+     * Returns every legal two-marble move of {@code seven} among {@code marbles},
+     * scored with {@code evaluator}. Pairs that break the card's colour rules are
+     * left out.
+     */
+    public ArrayList<LegalMoves.Move> enumerate(Colour colour, Card seven, ArrayList<Marble> marbles, MoveEvaluator evaluator) {
+        ArrayList<LegalMoves.Move> moves = new ArrayList<>();
+        scratchManager.setActivePlayerColour(colour);
+
+        for (Marble first : marbles) {
+            for (int split = 1; split <= 6; split++) {
+                Cell firstTarget = board.getDestination(first, split, false);
+                if (firstTarget == null)
+                    continue;
+
+                if (!playFirstLeg(first, split))
+                    continue;
+
+                for (Marble second : marbles) {
+                    if (second == first)
+                        continue;
+
+                    ArrayList<Marble> pair = new ArrayList<>();
+                    pair.add(first);
+                    pair.add(second);
+                    if (!seven.validateMarbleColours(pair))
+                        continue;
+
+                    Cell secondTarget = toBoardCell(scratch.getDestination(second, 7 - split, false));
+                    if (secondTarget == null)
+                        continue;
+
+                    ArrayList<Cell> targets = new ArrayList<>();
+                    targets.add(firstTarget);
+                    targets.add(secondTarget);
+                    moves.add(new LegalMoves.Move(seven, pair, split, targets, evaluator.score(colour, seven, pair, split)));
+                }
+            }
+        }
+
+        return moves;
+    }
+
+    /**
+     * Copies the board into the scratch board and plays the first leg there.
+     */
+    private boolean playFirstLeg(Marble marble, int steps) {
+        copyCells(board.getTrack(), scratch.getTrack());
+        for (int i = 0; i < board.getSafeZones().size(); i++)
+            copyCells(board.getSafeZones().get(i).getCells(), scratch.getSafeZones().get(i).getCells());
+
+        try {
+            scratch.moveBy(marble, steps, false);
+            return true;
+        }
+        catch (GameException e) {
+            return false;
+        }
+    }
+
+    private static void copyCells(ArrayList<Cell> from, ArrayList<Cell> to) {
+        for (int i = 0; i < from.size(); i++) {
+            to.get(i).setMarble(from.get(i).getMarble());
+            to.get(i).setTrap(from.get(i).isTrap());
+        }
+    }
+
+    /**
+     * Maps a cell of the scratch board to the cell in the same place on the real board.
+     */
+    private Cell toBoardCell(Cell cell) {
+        if (cell == null)
+            return null;
+
+        int position = scratch.getTrack().indexOf(cell);
+        if (position != -1)
+            return board.getTrack().get(position);
+
+        for (int i = 0; i < scratch.getSafeZones().size(); i++) {
+            position = scratch.getSafeZones().get(i).getCells().indexOf(cell);
+            if (position != -1)
+                return board.getSafeZones().get(i).getCells().get(position);
+        }
+
+        return null;
+    }
+}
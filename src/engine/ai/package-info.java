@@ -0,0 +1,31 @@
+/**
+ * The {@code engine.ai} package contains the offline and in-game analysis used by the
+ * CPU players of Jackaroo, and the move hints offered to the human player.
+ *
+ * Key classes in this package:
+ * <ul>
+ *   <li>{@link engine.ai.EndgameTable} - Memory-mapped best-action tables for a player's home stretch.</li>
+ *   <li>{@link engine.ai.EndgameTableGenerator} - Headless tool that solves and writes the endgame tables.</li>
+ *   <li>{@link engine.ai.CpuWeights} - Immutable heuristic weights used to rank CPU moves.</li>
+ *   <li>{@link engine.ai.MoveEvaluator} - Scores a card and marble selection with a set of weights.</li>
+ *   <li>{@link engine.ai.SelfPlay} - Seeded, headless CPU-only games.</li>
+ *   <li>{@link engine.ai.SelfPlayTuner} - Tunes the CPU weights through self-play and an SPRT.</li>
+ *   <li>{@link engine.ai.LegalMoves} - Every legal move of one card, with the cells it reaches.</li>
+ *   <li>{@link engine.ai.SevenEnumerator} - Every legal Seven split, checked against a scratch copy of the board.</li>
+ *   <li>{@link engine.ai.HintService} - Background, per-turn cache of the active player's legal moves.</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * // once, from the project directory:
+ * // java engine.ai.EndgameTableGenerator Endgame.tbl
+ * // java engine.ai.SelfPlayTuner 1 20 cpu.properties
+ * // then run with -Djackaroo.endgameTable=Endgame.tbl to play with the table
+ *
+ * EndgameTable table = CpuWeights.getDefault().getEndgameTable();
+ * if (table != null) {
+ *     int marble = table.getBestAction(position, rank);
+ * }
+ * }</pre>
+ */
+package engine.ai;
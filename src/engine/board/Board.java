@@ -2,8 +2,12 @@ package engine.board;
 
 
 import java.util.ArrayList;
+import java.util.Random;
 
 import engine.GameManager;
+import engine.metrics.Counter;
+import engine.metrics.LatencyRecorder;
+import engine.metrics.Metrics;
 import exception.CannotFieldException;
 import exception.IllegalDestroyException;
 import exception.IllegalMovementException;
@@ -16,15 +20,28 @@ import model.player.Player;
 
 @SuppressWarnings("unused")
 public class Board implements BoardManager {
+    private static final LatencyRecorder MOVE_BY_TIMER = Metrics.recorder("board.moveBy");
+    private static final LatencyRecorder VALIDATE_STEPS_TIMER = Metrics.recorder("board.validateSteps");
+    private static final LatencyRecorder VALIDATE_PATH_TIMER = Metrics.recorder("board.validatePath");
+    private static final Counter MOVES_REJECTED = Metrics.counter("board.moveBy.rejected");
+
     private final ArrayList<Cell> track;
     private final ArrayList<SafeZone> safeZones;
 	private final GameManager gameManager;
     private int splitDistance;
+    private final Random random;
+    private final ArrayList<BoardListener> listeners = new ArrayList<>();
+    private boolean metricsRecorded = true;
 
     public Board(ArrayList<Colour> colourOrder, GameManager gameManager) {
+        this(colourOrder, gameManager, new Random());
+    }
+
+    public Board(ArrayList<Colour> colourOrder, GameManager gameManager, Random random) {
         this.track = new ArrayList<>();
         this.safeZones = new ArrayList<>();
         this.gameManager = gameManager;
+        this.random = random;
         
         for (int i = 0; i < 100; i++) {
             this.track.add(new Cell(CellType.NORMAL));
@@ -56,15 +73,41 @@ public class Board implements BoardManager {
     public void setSplitDistance(int splitDistance) {
         this.splitDistance = splitDistance;
     }
+
+    /**
+     * Sets whether moves on this board count towards the {@code board.*} metrics.
+     * Scratch copies that only try moves out turn this off, so the metrics describe
+     * the moves of real games only.
+     */
+    public void setMetricsRecorded(boolean metricsRecorded) {
+        this.metricsRecorded = metricsRecorded;
+    }
    
-    private void assignTrapCell() {
+    /**
+     * Adds a listener that is told about every move from now on.
+     */
+    public void addListener(BoardListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(BoardListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireMarbleMoved(Marble marble, Cell from, Cell to) {
+        for (int i = 0; i < listeners.size(); i++)
+            listeners.get(i).marbleMoved(marble, from, to);
+    }
+
+    private Cell assignTrapCell() {
         int randIndex = -1;
         
         do
-            randIndex = (int)(Math.random() * 100); 
+            randIndex = random.nextInt(100);
         while(this.track.get(randIndex).getCellType() != CellType.NORMAL || this.track.get(randIndex).isTrap());
         
         this.track.get(randIndex).setTrap(true);
+        return this.track.get(randIndex);
     }
     
     private ArrayList<Cell> getSafeZone(Colour colour) {
@@ -103,7 +146,38 @@ public class Board implements BoardManager {
             return (idx - 2 + 100) % 100;
     }
     
+    /*
+     * Each rule check comes in two forms. The get...Violation methods return the
+     * message of the rule a move breaks, or null if it breaks none, and back the
+     * read-only probes the CPU and the hints call thousands of times per turn. The
+     * validate... methods throw that message as the matching exception and are only
+     * used when a move is actually played.
+     */
+
     private ArrayList<Cell> validateSteps(Marble marble, int steps) throws IllegalMovementException {
+        ArrayList<Cell> fullPath = new ArrayList<>();
+        String violation = getStepsViolation(marble, steps, fullPath);
+
+        if (violation != null)
+            throw new IllegalMovementException(violation);
+
+        return fullPath;
+    }
+
+    private String getStepsViolation(Marble marble, int steps, ArrayList<Cell> fullPath) {
+        if (!Metrics.ENABLED || !metricsRecorded)
+            return buildPath(marble, steps, fullPath);
+
+        long start = System.nanoTime();
+        try {
+            return buildPath(marble, steps, fullPath);
+        }
+        finally {
+            VALIDATE_STEPS_TIMER.record(System.nanoTime() - start);
+        }
+    }
+
+    private String buildPath(Marble marble, int steps, ArrayList<Cell> fullPath) {
     	Colour ownerColour = gameManager.getActivePlayerColour();
         ArrayList<Cell> safeZone = getSafeZone(marble.getColour());
         int entryPosition = getEntryPosition(ownerColour);
@@ -111,16 +185,14 @@ public class Board implements BoardManager {
         int positionOnTrack = getPositionInPath(track, marble);
         int positionInSafeZone = getPositionInPath(safeZone, marble);
 
-        ArrayList<Cell> fullPath = new ArrayList<>();
-        
         if (positionOnTrack == -1 && positionInSafeZone == -1)
-            throw new IllegalMovementException("Cannot move a marble that is not on track nor Safe Zone");
+            return "Cannot move a marble that is not on track nor Safe Zone";
         
         if (positionOnTrack != -1) {
             int distanceToEntry = entryPosition - positionOnTrack;
 
             if (marble.getColour() == ownerColour && steps > 0 && distanceToEntry >= 0 && steps > distanceToEntry + 4)
-                throw new IllegalMovementException("Rank is too high!");
+                return "Rank is too high!";
             
             if (marble.getColour() == ownerColour && steps > 0 && distanceToEntry >= 0 && steps > distanceToEntry) {
                 fullPath.addAll(track.subList(positionOnTrack, entryPosition + 1));
@@ -157,22 +229,42 @@ public class Board implements BoardManager {
         
         if (positionInSafeZone != -1) {
             if (steps < 0) 
-                throw new IllegalMovementException("Cannot move a marble backwards in Safe Zone");
+                return "Cannot move a marble backwards in Safe Zone";
 
             int distanceLeft = 3 - positionInSafeZone; 
 
             if (steps > distanceLeft)
-                throw new IllegalMovementException("Rank is too high!");
+                return "Rank is too high!";
 
             fullPath.addAll(safeZone.subList(positionInSafeZone, positionInSafeZone + steps + 1));
         }
 
         
-        return fullPath;
+        return null;
         
     }
 
-    private void validatePath(Marble marble, ArrayList<Cell> fullPath, boolean destroy) throws IllegalMovementException{
+    private void validatePath(Marble marble, ArrayList<Cell> fullPath, boolean destroy) throws IllegalMovementException {
+        String violation = getPathViolation(fullPath, destroy);
+
+        if (violation != null)
+            throw new IllegalMovementException(violation);
+    }
+
+    private String getPathViolation(ArrayList<Cell> fullPath, boolean destroy) {
+        if (!Metrics.ENABLED || !metricsRecorded)
+            return checkPath(fullPath, destroy);
+
+        long start = System.nanoTime();
+        try {
+            return checkPath(fullPath, destroy);
+        }
+        finally {
+            VALIDATE_PATH_TIMER.record(System.nanoTime() - start);
+        }
+    }
+
+    private String checkPath(ArrayList<Cell> fullPath, boolean destroy) {
         Colour ownerColour = gameManager.getActivePlayerColour();
         
         int marbleCount = 0;
@@ -184,27 +276,28 @@ public class Board implements BoardManager {
             		marbleCount++;
 
                 if (cell.getCellType() == CellType.SAFE)
-                    throw new IllegalMovementException("Cannot bypass my Safe Zone marbles!");
+                    return "Cannot bypass my Safe Zone marbles!";
                 
                 if (cell.getCellType() == CellType.BASE && track.indexOf(cell) == getBasePosition(cell.getMarble().getColour()))
-                    throw new IllegalMovementException("Cannot bypass or land on marbles in their Base Cell!");
+                    return "Cannot bypass or land on marbles in their Base Cell!";
 
                 if (!destroy) {
                 	//not marble colour as even with moving opponent marble I cannot kill my own marbles not his
                     if (ownerColour == cell.getMarble().getColour())
-                        throw new IllegalMovementException("Cannot bypass or land on my own marble!");
+                        return "Cannot bypass or land on my own marble!";
                     
                     //going into safe zone with a marble in the entry
                     if (cell.getCellType() == CellType.ENTRY && (i+1) < fullPath.size() && fullPath.get(i+1).getCellType() == CellType.SAFE)
-                        throw new IllegalMovementException("Cannot bypass a marble blocking my Safe Zone!");
+                        return "Cannot bypass a marble blocking my Safe Zone!";
 
                     if (marbleCount > 1)
-                        throw new IllegalMovementException("Cannot bypass more than 1 marble in my path!");
+                        return "Cannot bypass more than 1 marble in my path!";
                 }
                 
             }
         }
 
+        return null;
     }
     
     private void move(Marble marble, ArrayList<Cell> fullPath, boolean destroy) throws IllegalDestroyException {
@@ -224,42 +317,63 @@ public class Board implements BoardManager {
         	destroyMarble(targetCell.getMarble());   
         
         targetCell.setMarble(marble);
+        fireMarbleMoved(marble, currentCell, targetCell);
 
         if(targetCell.isTrap()) {
             destroyMarble(marble);
             targetCell.setTrap(false);
-            assignTrapCell();
+            Cell newTrap = assignTrapCell();
+
+            for (int i = 0; i < listeners.size(); i++)
+                listeners.get(i).trapMoved(targetCell, newTrap);
         }
         
 	}
     
     private void validateSwap(Marble marble_1, Marble marble_2) throws IllegalSwapException {
+        String violation = getSwapViolation(marble_1, marble_2);
+
+        if (violation != null)
+            throw new IllegalSwapException(violation);
+    }
+
+    private String getSwapViolation(Marble marble_1, Marble marble_2) {
     	Colour ownerColour = gameManager.getActivePlayerColour();
 
         int trackPosition_1 = getPositionInPath(track, marble_1);
         int trackPosition_2 = getPositionInPath(track, marble_2);
 
         if (trackPosition_1 == -1 || trackPosition_2 == -1) 
-            throw new IllegalSwapException("Cannot swap marbles that are not on track.");
+            return "Cannot swap marbles that are not on track.";
         
         Cell cell_1 = track.get(trackPosition_1);
         Cell cell_2 = track.get(trackPosition_2);
 
         if(ownerColour != marble_1.getColour() && cell_1.getCellType() == CellType.BASE && trackPosition_1 == getBasePosition(cell_1.getMarble().getColour())
         || ownerColour != marble_2.getColour() && cell_2.getCellType() == CellType.BASE && trackPosition_2 == getBasePosition(cell_2.getMarble().getColour()))
-            throw new IllegalSwapException("Marbles that are in their Base Cell can not be selected as a swap target.");
+            return "Marbles that are in their Base Cell can not be selected as a swap target.";
+
+        return null;
     }
     
     private void validateDestroy(int positionInPath) throws IllegalDestroyException {
+        String violation = getDestroyViolation(positionInPath);
+
+        if (violation != null)
+            throw new IllegalDestroyException(violation);
+	}
+
+    private String getDestroyViolation(int positionInPath) {
     	if (positionInPath == -1) 
-            throw new IllegalDestroyException("Cannot burn marbles that aren't on track.");
+            return "Cannot burn marbles that aren't on track.";
     
         Cell current = track.get(positionInPath);
         
         if(current.getCellType() == CellType.BASE && current.getMarble() != null && positionInPath == getBasePosition(current.getMarble().getColour()))
-            throw new IllegalDestroyException("Cannot burn marbles that are safe in their Base Cell.");
-		
-	}
+            return "Cannot burn marbles that are safe in their Base Cell.";
+
+        return null;
+    }
     
     private void validateFielding(Cell occupiedBaseCell) throws CannotFieldException {
     	if (occupiedBaseCell.getMarble().getColour() == gameManager.getActivePlayerColour())
@@ -267,11 +381,113 @@ public class Board implements BoardManager {
 	}
     
     private void validateSaving(int positionInSafeZone, int positionOnTrack) throws InvalidMarbleException {
+        String violation = getSavingViolation(positionInSafeZone, positionOnTrack);
+
+        if (violation != null)
+            throw new InvalidMarbleException(violation);
+    }
+
+    private String getSavingViolation(int positionInSafeZone, int positionOnTrack) {
     	if(positionInSafeZone != -1)
-            throw new InvalidMarbleException("Cannot save marbles that are already in the Safe Zone.");
+            return "Cannot save marbles that are already in the Safe Zone.";
         
         if(positionOnTrack == -1)
-            throw new InvalidMarbleException("Cannot save marbles that aren't on track.");
+            return "Cannot save marbles that aren't on track.";
+
+        return null;
+    }
+
+    public ArrayList<Cell> getHomeStretch(Colour colour, int trackCells) {
+        ArrayList<Cell> stretch = new ArrayList<>();
+        int entryPosition = getEntryPosition(colour);
+
+        for (int i = trackCells - 1; i >= 0; i--)
+            stretch.add(track.get((entryPosition - i + 100) % 100));
+
+        stretch.addAll(getSafeZone(colour));
+        return stretch;
+    }
+
+    public boolean isValidMove(Marble marble, int steps, boolean destroy) {
+        return getDestination(marble, steps, destroy) != null;
+    }
+
+    public Cell getDestination(Marble marble, int steps, boolean destroy) {
+        ArrayList<Cell> fullPath = new ArrayList<>();
+
+        if (getStepsViolation(marble, steps, fullPath) != null || getPathViolation(fullPath, destroy) != null)
+            return null;
+
+        return fullPath.get(fullPath.size() - 1);
+    }
+
+    public Cell getCell(Marble marble) {
+        int positionOnTrack = getPositionInPath(track, marble);
+        if (positionOnTrack != -1)
+            return track.get(positionOnTrack);
+
+        ArrayList<Cell> safeZone = getSafeZone(marble.getColour());
+        int positionInSafeZone = getPositionInPath(safeZone, marble);
+        return positionInSafeZone == -1 ? null : safeZone.get(positionInSafeZone);
+    }
+
+    public Cell getFieldingCell(Colour colour) {
+        Cell baseCell = track.get(getBasePosition(colour));
+
+        if (baseCell.getMarble() != null && baseCell.getMarble().getColour() == colour)
+            return null;
+
+        return baseCell;
+    }
+
+    public boolean canSwap(Marble marble_1, Marble marble_2) {
+        return getSwapViolation(marble_1, marble_2) == null;
+    }
+
+    public boolean canDestroy(Marble marble) {
+        int positionOnTrack = getPositionInPath(track, marble);
+
+        if (marble.getColour() == gameManager.getActivePlayerColour())
+            return positionOnTrack != -1;
+
+        return getDestroyViolation(positionOnTrack) == null;
+    }
+
+    public boolean canSave(Marble marble) {
+        return getSavingViolation(getPositionInPath(getSafeZone(marble.getColour()), marble), getPositionInPath(track, marble)) == null;
+    }
+
+    public Cell getTargetCell(Marble marble, int steps) {
+        ArrayList<Cell> fullPath = new ArrayList<>();
+
+        if (getStepsViolation(marble, steps, fullPath) != null)
+            return null;
+
+        return fullPath.get(fullPath.size() - 1);
+    }
+
+    /**
+     * Hashes everything legal moves depend on: which marble is on which cell, where
+     * the traps are, and whose turn it is. Two boards with the same hash offer the
+     * same moves, so it can key caches of move computations.
+     */
+    public long getStateHash() {
+        long hash = gameManager.getActivePlayerColour().ordinal();
+
+        for (Cell cell : track)
+            hash = hash * 31 + getCellHash(cell);
+
+        for (SafeZone safeZone : safeZones) {
+            for (Cell cell : safeZone.getCells())
+                hash = hash * 31 + getCellHash(cell);
+        }
+
+        return hash;
+    }
+
+    private static long getCellHash(Cell cell) {
+        long marbleHash = cell.getMarble() == null ? 0 : System.identityHashCode(cell.getMarble());
+        return marbleHash * 2 + (cell.isTrap() ? 1 : 0);
     }
 
     @Override
@@ -281,11 +497,24 @@ public class Board implements BoardManager {
 
     @Override
     public void moveBy(Marble marble, int steps, boolean destroy) throws IllegalMovementException, IllegalDestroyException{
-    	ArrayList<Cell> fullPath = validateSteps(marble, steps);
-    	
-        validatePath(marble, fullPath, destroy);
-        
-        move(marble, fullPath, destroy);
+        boolean recorded = Metrics.ENABLED && metricsRecorded;
+        long start = recorded ? System.nanoTime() : 0;
+        try {
+            ArrayList<Cell> fullPath = validateSteps(marble, steps);
+
+            validatePath(marble, fullPath, destroy);
+
+            move(marble, fullPath, destroy);
+        }
+        catch (IllegalMovementException e) {
+            if (recorded)
+                MOVES_REJECTED.increment();
+            throw e;
+        }
+        finally {
+            if (recorded)
+                MOVE_BY_TIMER.record(System.nanoTime() - start);
+        }
     }
 
 	@Override
@@ -297,6 +526,8 @@ public class Board implements BoardManager {
 
         track.get(trackPosition_1).setMarble(marble_2);
         track.get(trackPosition_2).setMarble(marble_1);
+        fireMarbleMoved(marble_1, track.get(trackPosition_1), track.get(trackPosition_2));
+        fireMarbleMoved(marble_2, track.get(trackPosition_2), track.get(trackPosition_1));
     }
 
     @Override
@@ -309,6 +540,7 @@ public class Board implements BoardManager {
 
         this.track.get(positionOnTrack).setMarble(null);
         this.gameManager.sendHome(marble);
+        fireMarbleMoved(marble, this.track.get(positionOnTrack), null);
     }
 
     @Override
@@ -322,6 +554,7 @@ public class Board implements BoardManager {
     	}
     	
     	baseCell.setMarble(marble);
+    	fireMarbleMoved(marble, null, baseCell);
 	}
 
 	@Override
@@ -339,9 +572,10 @@ public class Board implements BoardManager {
                 freeSpaces.add(cell);
         }
 
-        int randIndex = (int)(Math.random() * freeSpaces.size());
+        int randIndex = (int)(random.nextDouble() * freeSpaces.size());
         freeSpaces.get(randIndex).setMarble(marble);
         this.track.get(positionOnTrack).setMarble(null);
+        fireMarbleMoved(marble, this.track.get(positionOnTrack), freeSpaces.get(randIndex));
 	}
     
     @Override
@@ -0,0 +1,24 @@
+package engine.board;
+
+import model.card.Marble;
+
+/**
+ * Told about every change a {@link Board} makes to its cells, as it makes it, so an
+ * observer can follow the board one move at a time instead of scanning the track and
+ * safe zones after every turn. Each event is sent once the cells it names have been
+ * updated.
+ */
+public interface BoardListener {
+
+    /**
+     * A marble moved between two cells. {@code from} is {@code null} when the marble
+     * was fielded from its home zone and {@code to} is {@code null} when it was sent
+     * home. A swap is sent as two moves.
+     */
+    void marbleMoved(Marble marble, Cell from, Cell to);
+
+    /**
+     * The trap on {@code from} went off and a new one was set on {@code to}.
+     */
+    void trapMoved(Cell from, Cell to);
+}
@@ -1,14 +1,17 @@
 package engine.board;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import model.card.Marble;
 
 public class Firepit {
 
-    private List<Marble> capturedMarbles;
+    private final List<Marble> capturedMarbles;
+    private final List<Marble> capturedView;
 
     public Firepit() {
         this.capturedMarbles = new ArrayList<>();
+        this.capturedView = Collections.unmodifiableList(capturedMarbles);
     }
 
     /**
@@ -41,10 +44,10 @@ public class Firepit {
     /**
      * Gets the list of all pieces currently in the firepit.
      *
-     * @return list of captured pieces
+     * @return a read-only view of the captured pieces, which follows later changes
      */
     public List<Marble> getCapturedPieces() {
-        return new ArrayList<>(capturedMarbles); // Return a copy for safety
+        return capturedView;
     }
 
     /**
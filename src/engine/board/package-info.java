@@ -10,6 +10,7 @@
  *   <li>{@link engine.board.SafeZone} - Defines the safe zones associated with player colors, offering marble protection.</li>
  *   <li>{@link engine.board.CellType} - Enumerates the possible types of cells (NORMAL, SAFE, BASE, ENTRY).</li>
  *   <li>{@link engine.board.BoardManager} - Interface defining essential methods for board management.</li>
+ *   <li>{@link engine.board.BoardListener} - Observer told about every marble and trap the board moves.</li>
  * </ul>
  *
  * The package is designed with modularity and scalability in mind, supporting 
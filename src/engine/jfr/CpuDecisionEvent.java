@@ -0,0 +1,56 @@
+package engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import model.Colour;
+import model.card.Card;
+
+/**
+ * Recorded around {@link model.player.CPU#play()}: how many moves were considered,
+ * how many were tried before one was accepted, and how long it all took.
+ */
+@Name("jackaroo.CpuDecision")
+@Label("CPU Decision")
+@Description("A CPU player chose and played its move")
+@Category({ "Jackaroo", "AI" })
+@StackTrace(false)
+public class CpuDecisionEvent extends jdk.jfr.Event {
+    @Label("Player")
+    String colour;
+
+    @Label("Card")
+    String card;
+
+    @Label("Candidates")
+    @Description("Scored moves that passed the card's size and colour rules")
+    int candidates;
+
+    @Label("Tried")
+    @Description("Candidates played before one was accepted, including it")
+    int tried;
+
+    @Label("Endgame Table")
+    boolean endgame;
+
+    public static CpuDecisionEvent start() {
+        CpuDecisionEvent event = new CpuDecisionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void emit(Colour colour, Card card, int candidates, int tried, boolean endgame) {
+        end();
+        if (!shouldCommit())
+            return;
+
+        this.colour = colour == null ? null : colour.name();
+        this.card = card == null ? null : card.getName();
+        this.candidates = candidates;
+        this.tried = tried;
+        this.endgame = endgame;
+        commit();
+    }
+}
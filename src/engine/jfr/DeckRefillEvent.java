@@ -0,0 +1,34 @@
+package engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded when the fire pit is shuffled back into a deck's pool.
+ */
+@Name("jackaroo.DeckRefill")
+@Label("Deck Refill")
+@Description("The fire pit was returned to the card pool")
+@Category({ "Jackaroo", "Game" })
+@StackTrace(false)
+public class DeckRefillEvent extends jdk.jfr.Event {
+    @Label("Cards Returned")
+    int returned;
+
+    @Label("Pool Size")
+    @Description("Cards in the pool after the refill")
+    int poolSize;
+
+    public static void emit(int returned, int poolSize) {
+        DeckRefillEvent event = new DeckRefillEvent();
+        if (!event.shouldCommit())
+            return;
+
+        event.returned = returned;
+        event.poolSize = poolSize;
+        event.commit();
+    }
+}
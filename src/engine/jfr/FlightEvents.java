@@ -0,0 +1,34 @@
+package engine.jfr;
+
+/**
+ * The {@code FlightEvents} class tells the engine whether it can emit its JDK Flight
+ * Recorder events.
+ *
+ * <p>
+ * The {@code jdk.jfr} API ships with Java 11 and with Java 8 from update 262 on.
+ * On older runtimes, or when the JVM is started with {@code -Djackaroo.jfr=false},
+ * {@link #ENABLED} is {@code false} and the event classes are never loaded, so
+ * instrumented code guards every event with {@code if (FlightEvents.ENABLED)}.
+ * When it is {@code true} but no recording is running, an event costs one
+ * {@code shouldCommit()} check.
+ * </p>
+ */
+public final class FlightEvents {
+    public static final boolean ENABLED = isAvailable();
+
+    private FlightEvents() {
+    }
+
+    private static boolean isAvailable() {
+        if (!Boolean.parseBoolean(System.getProperty("jackaroo.jfr", "true")))
+            return false;
+
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        }
+        catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package engine.jfr;
+
+import exception.GameException;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import model.Colour;
+import model.card.Card;
+
+/**
+ * Recorded whenever the engine turns a move down with a {@link GameException}, both
+ * for the active player's turn and for every candidate a CPU player tries and drops.
+ * The stack trace is kept, as it shows which rule rejected the move.
+ */
+@Name("jackaroo.MoveRejected")
+@Label("Move Rejected")
+@Description("A move was rejected by the rules")
+@Category({ "Jackaroo", "Game" })
+public class MoveRejectedEvent extends jdk.jfr.Event {
+    @Label("Player")
+    String colour;
+
+    @Label("Card")
+    String card;
+
+    @Label("Exception")
+    @Description("Simple name of the exception.* class that was thrown")
+    String exception;
+
+    @Label("Message")
+    String message;
+
+    public static void emit(Colour colour, Card card, GameException exception) {
+        MoveRejectedEvent event = new MoveRejectedEvent();
+        if (!event.shouldCommit())
+            return;
+
+        event.colour = colour == null ? null : colour.name();
+        event.card = card == null ? null : card.getName();
+        event.exception = exception.getClass().getSimpleName();
+        event.message = exception.getMessage();
+        event.commit();
+    }
+}
@@ -0,0 +1,64 @@
+package engine.jfr;
+
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import model.Colour;
+import model.card.Card;
+import model.card.Marble;
+
+/**
+ * Recorded around {@link engine.Game#playPlayerTurn()}, whether or not the move was
+ * accepted.
+ */
+@Name("jackaroo.TurnPlayed")
+@Label("Turn Played")
+@Description("A player played the selected card")
+@Category({ "Jackaroo", "Game" })
+@StackTrace(false)
+public class TurnPlayedEvent extends jdk.jfr.Event {
+    @Label("Player")
+    String colour;
+
+    @Label("Card")
+    String card;
+
+    @Label("Marbles")
+    @Description("Colours of the selected marbles, in selection order")
+    String marbles;
+
+    @Label("Accepted")
+    boolean accepted;
+
+    public static TurnPlayedEvent start() {
+        TurnPlayedEvent event = new TurnPlayedEvent();
+        event.begin();
+        return event;
+    }
+
+    public void emit(Colour colour, Card card, List<Marble> marbles, boolean accepted) {
+        end();
+        if (!shouldCommit())
+            return;
+
+        this.colour = colour == null ? null : colour.name();
+        this.card = card == null ? null : card.getName();
+        this.marbles = describe(marbles);
+        this.accepted = accepted;
+        commit();
+    }
+
+    private static String describe(List<Marble> marbles) {
+        StringBuilder sb = new StringBuilder();
+        for (Marble marble : marbles) {
+            if (sb.length() > 0)
+                sb.append(',');
+            sb.append(marble.getColour());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * The {@code engine.jfr} package contains the JDK Flight Recorder events the engine
+ * emits, so a recording of a game shows turns, rejected moves, CPU decisions and
+ * deck refills next to the JVM's own GC and thread events.
+ *
+ * Key classes in this package:
+ * <ul>
+ *   <li>{@link engine.jfr.FlightEvents} - Whether events can be emitted on this runtime.</li>
+ *   <li>{@link engine.jfr.TurnPlayedEvent} - One player's turn, with its card, marbles and duration.</li>
+ *   <li>{@link engine.jfr.MoveRejectedEvent} - A move the rules turned down, and why.</li>
+ *   <li>{@link engine.jfr.CpuDecisionEvent} - How a CPU player searched for its move.</li>
+ *   <li>{@link engine.jfr.DeckRefillEvent} - The fire pit going back into the pool.</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * // java -XX:StartFlightRecording=filename=game.jfr view.Main
+ * // jfr print --events jackaroo.TurnPlayed game.jfr
+ * if (FlightEvents.ENABLED)
+ *     DeckRefillEvent.emit(cards.size(), size());
+ * }</pre>
+ */
+package engine.jfr;
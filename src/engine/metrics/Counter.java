@@ -0,0 +1,36 @@
+package engine.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free event counter. Increments from many threads only contend on the
+ * adder's internal cells, never on a shared lock.
+ */
+public class Counter {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public void reset() {
+        count.reset();
+    }
+}
@@ -0,0 +1,107 @@
+package engine.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram in the style of HdrHistogram.
+ *
+ * <p>
+ * Values are counted in log-linear buckets: every power of two is split into
+ * {@value #SUB_BUCKETS} equal buckets, so any recorded value is known to within
+ * about 6% whatever its magnitude, from nanoseconds up to hours, in a fixed array
+ * of counters. Recording is a couple of shifts and one atomic increment.
+ * </p>
+ */
+public class LatencyRecorder {
+    private static final int SUB_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records one duration in nanoseconds; negative values are counted as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(getBucket(value));
+        count.increment();
+        total.add(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMean() {
+        long n = getCount();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * Returns the value below which the given fraction of recordings fall, rounded
+     * up to the top of its bucket.
+     *
+     * @param quantile between 0 and 1, e.g. 0.99 for the 99th percentile
+     */
+    public long getValueAtQuantile(double quantile) {
+        long n = getCount();
+        if (n == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank)
+                return getHighestValue(i);
+        }
+
+        return getMax();
+    }
+
+    public long getMax() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (buckets.get(i) != 0)
+                return getHighestValue(i);
+        }
+
+        return 0;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets.set(i, 0);
+        count.reset();
+        total.reset();
+    }
+
+    static int getBucket(long value) {
+        if (value < 2 * SUB_BUCKETS)
+            return (int) value;
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long getHighestValue(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS)
+            return bucket;
+
+        int shift = bucket / SUB_BUCKETS - 1;
+        long mantissa = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
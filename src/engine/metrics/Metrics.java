@@ -0,0 +1,154 @@
+package engine.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The {@code Metrics} class is the registry of the engine's counters and latency
+ * recorders.
+ *
+ * <p>
+ * Metrics are off unless the JVM is started with {@code -Djackaroo.metrics=true}.
+ * {@link #ENABLED} is a constant, so instrumented code guards its timing with
+ * {@code if (Metrics.ENABLED)} and the JIT removes it entirely when metrics are off.
+ * When they are on, the registry is published over JMX as {@value #OBJECT_NAME},
+ * and {@code -Djackaroo.metrics.dump=<seconds>} also prints a report to standard
+ * output at that interval.
+ * </p>
+ */
+public final class Metrics {
+    public static final boolean ENABLED = Boolean.getBoolean("jackaroo.metrics");
+    public static final String OBJECT_NAME = "jackaroo:type=Metrics";
+
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService dumper;
+
+    static {
+        if (ENABLED) {
+            register();
+
+            long period = Long.getLong("jackaroo.metrics.dump", 0);
+            if (period > 0)
+                startDump(period, System.out);
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    public static LatencyRecorder recorder(String name) {
+        return recorders.computeIfAbsent(name, LatencyRecorder::new);
+    }
+
+    public static void reset() {
+        for (Counter counter : counters.values())
+            counter.reset();
+        for (LatencyRecorder recorder : recorders.values())
+            recorder.reset();
+    }
+
+    /**
+     * Returns one line per metric, sorted by name. Latencies are in microseconds.
+     */
+    public static String getReport() {
+        StringBuilder sb = new StringBuilder();
+
+        for (Counter counter : new TreeMap<>(counters).values())
+            sb.append(String.format("%-28s count=%d%n", counter.getName(), counter.getCount()));
+
+        for (LatencyRecorder recorder : new TreeMap<>(recorders).values())
+            sb.append(String.format("%-28s count=%d %s%n", recorder.getName(), recorder.getCount(), describe(recorder)));
+
+        return sb.toString();
+    }
+
+    /**
+     * Prints {@link #getReport()} to {@code out} every {@code periodSeconds} seconds
+     * on a daemon thread, until {@link #stopDump()} is called.
+     */
+    public static synchronized void startDump(long periodSeconds, PrintStream out) {
+        stopDump();
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> out.print(getReport()), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    public static synchronized void stopDump() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+    }
+
+    private static String describe(LatencyRecorder recorder) {
+        return String.format("mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus", recorder.getMean() / 1000,
+                recorder.getValueAtQuantile(0.5) / 1000.0, recorder.getValueAtQuantile(0.99) / 1000.0,
+                recorder.getMax() / 1000.0);
+    }
+
+    private static void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name))
+                server.registerMBean(new MXBean(), name);
+        }
+        catch (JMException e) {
+            System.err.println("Could not register engine metrics over JMX: " + e.getMessage());
+        }
+    }
+
+    private static class MXBean implements MetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        @Override
+        public Map<String, Long> getCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            for (Counter counter : counters.values())
+                counts.put(counter.getName(), counter.getCount());
+            for (LatencyRecorder recorder : recorders.values())
+                counts.put(recorder.getName(), recorder.getCount());
+            return counts;
+        }
+
+        @Override
+        public Map<String, String> getLatencies() {
+            Map<String, String> latencies = new TreeMap<>();
+            for (LatencyRecorder recorder : recorders.values())
+                latencies.put(recorder.getName(), describe(recorder));
+            return latencies;
+        }
+
+        @Override
+        public String getReport() {
+            return Metrics.getReport();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
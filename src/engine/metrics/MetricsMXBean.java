@@ -0,0 +1,26 @@
+package engine.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link Metrics} registry, registered as
+ * {@value Metrics#OBJECT_NAME}.
+ */
+public interface MetricsMXBean {
+
+    boolean isEnabled();
+
+    /**
+     * Counter values and latency recording counts by metric name.
+     */
+    Map<String, Long> getCounts();
+
+    /**
+     * Mean, 50th, 99th percentile and maximum latency in microseconds, by metric name.
+     */
+    Map<String, String> getLatencies();
+
+    String getReport();
+
+    void reset();
+}
@@ -0,0 +1,23 @@
+/**
+ * The {@code engine.metrics} package contains the lightweight metrics the engine
+ * records about itself: how often operations run and how long they take.
+ *
+ * Key classes in this package:
+ * <ul>
+ *   <li>{@link engine.metrics.Metrics} - The registry, with its JMX bean and periodic text report.</li>
+ *   <li>{@link engine.metrics.Counter} - A lock-free event counter.</li>
+ *   <li>{@link engine.metrics.LatencyRecorder} - A lock-free log-linear latency histogram.</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * // java -Djackaroo.metrics=true -Djackaroo.metrics.dump=10 view.Main
+ * private static final LatencyRecorder MOVE_TIMER = Metrics.recorder("board.moveBy");
+ *
+ * long start = Metrics.ENABLED ? System.nanoTime() : 0;
+ * ...
+ * if (Metrics.ENABLED)
+ *     MOVE_TIMER.record(System.nanoTime() - start);
+ * }</pre>
+ */
+package engine.metrics;
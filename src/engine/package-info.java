@@ -6,6 +6,7 @@
  * <ul>
  *   <li>{@link engine.Game} - Implements the main game engine, handling setup, turns, and game state.</li>
  *   <li>{@link engine.GameManager} - Interface for communication with the Game class, providing access to game state and turn management.</li>
+ *   <li>{@link engine.GameListener} - Observer of the game's moves, discards and turns, for following a game without rescanning the board.</li>
  * </ul>
  * 
  * This package works closely with the {@code model} and {@code engine.board} packages to ensure smooth gameplay.
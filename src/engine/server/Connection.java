@@ -0,0 +1,157 @@
+package engine.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import engine.Game;
+import engine.ai.SelfPlay;
+import model.Colour;
+import model.card.Card;
+
+/**
+ * One client of a {@link NetworkServer}. The channel is only read and written on the
+ * server's selector thread; other threads hand it frames through {@link #send}.
+ *
+ * <p>
+ * The connection listens to the table it sits at and keeps the last board it sent,
+ * so each change is pushed as a delta of the cells that moved.
+ * </p>
+ */
+class Connection implements Table.Listener {
+    private final NetworkServer server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final ByteBuffer in = ByteBuffer.allocate(Protocol.HEADER_SIZE + Protocol.MAX_FRAME_SIZE);
+    private final Queue<ByteBuffer> out = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final AtomicBoolean dropped = new AtomicBoolean();
+
+    // Set on the selector thread before the connection listens to the table
+    private Table table;
+    private int seat = -1;
+
+    // Only touched on the table's thread
+    private final byte[] sentCells = new byte[Protocol.CELLS];
+    private int sentSeat = -1;
+    private List<Card> sentHand = new ArrayList<>();
+
+    Connection(NetworkServer server, SocketChannel channel, SelectionKey key) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+        Arrays.fill(sentCells, (byte) -1);
+    }
+
+    ByteBuffer getInput() {
+        return in;
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    SelectionKey getKey() {
+        return key;
+    }
+
+    Table getTable() {
+        return table;
+    }
+
+    int getSeat() {
+        return seat;
+    }
+
+    void sit(Table table, int seat) {
+        this.table = table;
+        this.seat = seat;
+    }
+
+    /**
+     * Queues a frame for the client. A client that has not read
+     * {@value NetworkServer#MAX_BACKLOG} bytes of what it was sent is too slow to
+     * keep up and is disconnected, once; the frame that did not fit and any sent
+     * after it are dropped.
+     */
+    void send(ByteBuffer frame) {
+        if (dropped.get())
+            return;
+
+        int size = frame.remaining();
+        if (backlog.addAndGet(size) > NetworkServer.MAX_BACKLOG) {
+            backlog.addAndGet(-size);
+            if (dropped.compareAndSet(false, true))
+                server.disconnect(this);
+            return;
+        }
+
+        out.add(frame);
+        if (flushQueued.compareAndSet(false, true))
+            server.flushLater(this);
+    }
+
+    /**
+     * Writes as much as the channel takes. Returns {@code true} if everything queued
+     * was written.
+     */
+    boolean flush() throws IOException {
+        flushQueued.set(false);
+
+        ByteBuffer frame;
+        while ((frame = out.peek()) != null) {
+            int written = channel.write(frame);
+            backlog.addAndGet(-written);
+            if (frame.hasRemaining())
+                return false;
+            out.poll();
+        }
+        return true;
+    }
+
+    @Override
+    public void changed(Table table, Game game) {
+        // the hand goes first, so a client told it is its turn already holds its cards
+        List<Card> hand = game.getPlayers().get(seat).getHand();
+        if (!sameCards(hand, sentHand)) {
+            sentHand = new ArrayList<>(hand);
+            send(Protocol.encodeHand(hand));
+        }
+
+        int activeSeat = SelfPlay.seatOf(game, game.getActivePlayerColour());
+        // the first update compares every cell, later ones only the cells that moved
+        BitSet candidates = sentSeat == -1 ? null : table.getChangedCells();
+        ByteBuffer state = Protocol.encodeState(sentCells, game.getBoard(), candidates, activeSeat, activeSeat != sentSeat);
+        sentSeat = activeSeat;
+        if (state != null)
+            send(state);
+    }
+
+    @Override
+    public void finished(Table table, Colour winner) {
+        ByteBuffer frame = Protocol.frame(Protocol.FINISHED, 1);
+        frame.put((byte) (winner == null ? -1 : winner.ordinal()));
+        send(Protocol.flip(frame));
+        server.leave(this, table);
+    }
+
+    private static boolean sameCards(List<Card> a, List<Card> b) {
+        if (a.size() != b.size())
+            return false;
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+package engine.server;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import engine.metrics.Counter;
+import engine.metrics.Metrics;
+
+/**
+ * The {@code GameServer} hosts many independent {@link Table}s on a fixed pool of
+ * threads, without a user interface.
+ *
+ * <p>
+ * Tables are actors (see {@link Table}), so the pool only ever sees short slices of
+ * work, one CPU turn at most, queued first come first served. That keeps turns fair
+ * between tables however many are open, and a few threads can host thousands of
+ * games. Back-pressure is applied at two points: {@link #openTable} refuses new
+ * tables once {@code maxTables} are open, and a table refuses client actions once
+ * its mailbox holds {@value Table#MAILBOX_CAPACITY} of them. Both are refused with a
+ * {@link RejectedExecutionException}.
+ * </p>
+ *
+ * <p>
+ * Every game is seeded and owns its deck, so tables share no mutable state.
+ * </p>
+ */
+public class GameServer implements AutoCloseable {
+    private static final Counter TABLES_REJECTED = Metrics.counter("server.tables.rejected");
+
+    private final int maxTables;
+    private final long turnTimeoutMillis;
+    private final long tableTimeoutMillis;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService timer;
+    private final Map<Long, Table> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger openTables = new AtomicInteger();
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicLong turns = new AtomicLong();
+
+    /**
+     * @param threads            threads that run the tables
+     * @param maxTables          tables that may be open at once
+     * @param turnTimeoutMillis  time a client has for its turn, or 0 for no limit
+     * @param tableTimeoutMillis time a table may run, or 0 for no limit
+     */
+    public GameServer(int threads, int maxTables, long turnTimeoutMillis, long tableTimeoutMillis) {
+        this.maxTables = maxTables;
+        this.turnTimeoutMillis = turnTimeoutMillis;
+        this.tableTimeoutMillis = tableTimeoutMillis;
+        this.executor = Executors.newFixedThreadPool(threads, daemonThreads("game-server"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("game-server-timer"));
+    }
+
+    /**
+     * Opens a seeded table and starts playing it. The given clients take the first
+     * seats; the other seats are CPU players.
+     *
+     * @throws RejectedExecutionException if {@code maxTables} tables are already open
+     */
+    public Table openTable(long seed, String... clientNames) throws IOException {
+        if (openTables.incrementAndGet() > maxTables) {
+            openTables.decrementAndGet();
+            TABLES_REJECTED.increment();
+            throw new RejectedExecutionException("The server already hosts " + maxTables + " tables");
+        }
+
+        Table table;
+        try {
+            table = new Table(nextId.incrementAndGet(), this, seed, clientNames);
+        }
+        catch (IOException | RuntimeException e) {
+            openTables.decrementAndGet();
+            throw e;
+        }
+
+        tables.put(table.getId(), table);
+        table.start(tableTimeoutMillis);
+        return table;
+    }
+
+    public Table getTable(long id) {
+        return tables.get(id);
+    }
+
+    public Collection<Table> getTables() {
+        return tables.values();
+    }
+
+    public int getTableCount() {
+        return openTables.get();
+    }
+
+    public long getTurnCount() {
+        return turns.get();
+    }
+
+    public long getTurnTimeoutMillis() {
+        return turnTimeoutMillis;
+    }
+
+    /**
+     * Closes every table and stops the server's threads.
+     */
+    @Override
+    public void close() {
+        for (Table table : tables.values())
+            table.close();
+
+        executor.shutdown();
+        timer.shutdownNow();
+    }
+
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    ScheduledExecutorService getTimer() {
+        return timer;
+    }
+
+    void countTurn() {
+        turns.incrementAndGet();
+    }
+
+    void remove(Table table) {
+        if (tables.remove(table.getId()) != null)
+            openTables.decrementAndGet();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,392 @@
+package engine.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import engine.board.Cell;
+import engine.metrics.Counter;
+import engine.metrics.Metrics;
+import exception.InvalidCardException;
+import exception.InvalidMarbleException;
+import model.card.Card;
+import model.card.Marble;
+
+/**
+ * The {@code NetworkServer} lets remote players sit at the tables of a
+ * {@link GameServer}, speaking the {@link Protocol} over TCP.
+ *
+ * <p>
+ * All sockets are non-blocking and served by a single selector thread, which only
+ * decodes frames and hands them to the tables as actions, so one server holds
+ * thousands of mostly idle connections without a thread per client. Tables push
+ * their changes to the connections sitting at them from their own threads; those
+ * frames are queued and written by the selector thread. A client that stops reading
+ * is disconnected once {@value #MAX_BACKLOG} bytes are waiting for it, rather than
+ * being buffered without limit.
+ * </p>
+ */
+public class NetworkServer implements AutoCloseable {
+    public static final int MAX_BACKLOG = 64 * 1024;
+
+    private static final Counter CONNECTIONS_DROPPED = Metrics.counter("server.connections.dropped");
+
+    private final GameServer games;
+    private final Selector selector;
+    private final ServerSocketChannel listener;
+    private final Thread thread;
+    private final Queue<Connection> flushes = new ConcurrentLinkedQueue<>();
+    private final Queue<Connection> closing = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Connection> seats = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile boolean running = true;
+
+    /**
+     * Listens on {@code port} of every local address; port 0 picks a free port, see
+     * {@link #getPort()}.
+     */
+    public NetworkServer(GameServer games, int port) throws IOException {
+        this.games = games;
+        this.selector = Selector.open();
+        this.listener = ServerSocketChannel.open();
+        listener.bind(new InetSocketAddress(port), 1024);
+        listener.configureBlocking(false);
+        listener.register(selector, SelectionKey.OP_ACCEPT);
+
+        this.thread = new Thread(this::run, "network-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getPort() {
+        return listener.socket().getLocalPort();
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Stops accepting clients and disconnects the connected ones. The tables keep
+     * running on the game server.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(5000);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void flushLater(Connection connection) {
+        flushes.add(connection);
+        selector.wakeup();
+    }
+
+    void disconnect(Connection connection) {
+        CONNECTIONS_DROPPED.increment();
+        closing.add(connection);
+        selector.wakeup();
+    }
+
+    /**
+     * Frees the seat of a connection whose table has finished.
+     */
+    void leave(Connection connection, Table table) {
+        seats.remove(seatKey(table.getId(), connection.getSeat()), connection);
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+
+                Connection connection;
+                while ((connection = closing.poll()) != null)
+                    close(connection);
+                while ((connection = flushes.poll()) != null)
+                    write(connection);
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid())
+                        continue;
+
+                    if (key.isAcceptable())
+                        accept();
+                    else {
+                        connection = (Connection) key.attachment();
+                        if (key.isWritable())
+                            write(connection);
+                        if (key.isValid() && key.isReadable())
+                            read(connection);
+                    }
+                }
+            }
+        }
+        catch (IOException | ClosedSelectorException e) {
+            System.err.println("Network server stopped: " + e.getMessage());
+        }
+        finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection)
+                    close((Connection) key.attachment());
+            }
+            try {
+                listener.close();
+                selector.close();
+            }
+            catch (IOException e) {
+                // already closing
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = listener.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(this, channel, key));
+            connections.incrementAndGet();
+        }
+    }
+
+    private void read(Connection connection) {
+        ByteBuffer in = connection.getInput();
+        try {
+            if (connection.getChannel().read(in) < 0) {
+                close(connection);
+                return;
+            }
+        }
+        catch (IOException e) {
+            close(connection);
+            return;
+        }
+
+        in.flip();
+        try {
+            while (in.remaining() >= Protocol.HEADER_SIZE) {
+                int length = in.getInt(in.position());
+                if (length < 1 || length > Protocol.MAX_FRAME_SIZE) {
+                    close(connection);
+                    return;
+                }
+                if (in.remaining() < Protocol.HEADER_SIZE + length)
+                    break;
+
+                in.position(in.position() + Protocol.HEADER_SIZE);
+                ByteBuffer frame = in.slice();
+                frame.limit(length);
+                in.position(in.position() + length);
+
+                if (!dispatch(connection, frame)) {
+                    close(connection);
+                    return;
+                }
+            }
+        }
+        catch (BufferUnderflowException e) {
+            // a frame shorter than its type needs
+            close(connection);
+            return;
+        }
+        in.compact();
+    }
+
+    private void write(Connection connection) {
+        SelectionKey key = connection.getKey();
+        if (!key.isValid())
+            return;
+
+        try {
+            boolean done = connection.flush();
+            key.interestOps(done ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+        catch (IOException e) {
+            close(connection);
+        }
+    }
+
+    private void close(Connection connection) {
+        SelectionKey key = connection.getKey();
+        if (!key.isValid())
+            return;
+
+        key.cancel();
+        try {
+            connection.getChannel().close();
+        }
+        catch (IOException e) {
+            // the client is gone either way
+        }
+        connections.decrementAndGet();
+
+        Table table = connection.getTable();
+        if (table != null) {
+            table.removeListener(connection);
+            leave(connection, table);
+        }
+    }
+
+    /**
+     * Decodes one frame and acts on it. Returns {@code false} if the frame is not
+     * part of the protocol.
+     */
+    private boolean dispatch(Connection connection, ByteBuffer frame) {
+        byte type = frame.get();
+
+        if (type == Protocol.OPEN || type == Protocol.JOIN) {
+            if (isSeated(connection))
+                reply(connection, "Already seated at table " + connection.getTable().getId());
+            else if (type == Protocol.OPEN)
+                open(connection, frame.getLong(), frame.get());
+            else
+                join(connection, frame.getLong(), frame.get());
+            return true;
+        }
+
+        Table table = connection.getTable();
+        int seat = connection.getSeat();
+        CompletableFuture<Void> done;
+
+        switch (type) {
+            case Protocol.SELECT_CARD:
+                int handIndex = frame.get();
+                done = table == null ? null : table.submit(seat, game -> {
+                    List<Card> hand = game.getPlayers().get(seat).getHand();
+                    if (handIndex < 0 || handIndex >= hand.size() || hand.get(handIndex) == null)
+                        throw new InvalidCardException("No card at position " + handIndex + " of the hand.");
+                    game.selectCard(hand.get(handIndex));
+                });
+                break;
+            case Protocol.SELECT_MARBLE:
+                int cellIndex = frame.get() & 0xFF;
+                done = table == null ? null : table.submit(seat, game -> {
+                    Cell cell = Protocol.cellAt(game.getBoard(), cellIndex);
+                    Marble marble = cell == null ? null : cell.getMarble();
+                    if (marble == null)
+                        throw new InvalidMarbleException("No marble on cell " + cellIndex + ".");
+                    game.selectMarble(marble);
+                });
+                break;
+            case Protocol.SPLIT:
+                int splitDistance = frame.get();
+                done = table == null ? null : table.submit(seat, game -> game.editSplitDistance(splitDistance));
+                break;
+            case Protocol.DESELECT:
+                done = table == null ? null : table.submit(seat, game -> game.deselectAll());
+                break;
+            case Protocol.PLAY:
+                done = table == null ? null : table.playTurn(seat);
+                break;
+            default:
+                return false;
+        }
+
+        if (done == null)
+            reply(connection, "Not seated at a table");
+        else
+            done.whenComplete((ignored, error) -> reply(connection, error == null ? null : describe(error)));
+        return true;
+    }
+
+    private void open(Connection connection, long seed, int clientSeats) {
+        if (clientSeats < 1 || clientSeats > 4) {
+            reply(connection, "A table has 1 to 4 client seats");
+            return;
+        }
+
+        String[] names = new String[clientSeats];
+        for (int i = 0; i < clientSeats; i++)
+            names[i] = "Remote " + i;
+
+        Table table;
+        try {
+            table = games.openTable(seed, names);
+        }
+        catch (IOException | RejectedExecutionException e) {
+            reply(connection, describe(e));
+            return;
+        }
+
+        seats.put(seatKey(table.getId(), 0), connection);
+        sit(connection, table, 0);
+    }
+
+    private void join(Connection connection, long tableId, int seat) {
+        Table table = games.getTable(tableId);
+        if (table == null)
+            reply(connection, "No open table " + tableId);
+        else if (!table.isClientSeat(seat))
+            reply(connection, "Seat " + seat + " of table " + tableId + " is not a client seat");
+        else if (seats.putIfAbsent(seatKey(tableId, seat), connection) != null)
+            reply(connection, "Seat " + seat + " of table " + tableId + " is taken");
+        else
+            sit(connection, table, seat);
+    }
+
+    /**
+     * Seats the connection and starts sending it the table. The connection only
+     * listens to the table once {@link Protocol#JOINED} is sent, so that is always the
+     * first frame. A table too busy to take the request refuses it straight away, on
+     * this thread, and the seat is given up again.
+     */
+    private void sit(Connection connection, Table table, int seat) {
+        connection.sit(table, seat);
+        table.read(game -> game.getPlayers().get(seat).getColour()).whenComplete((colour, error) -> {
+            if (error != null) {
+                connection.sit(null, -1);
+                seats.remove(seatKey(table.getId(), seat), connection);
+                reply(connection, describe(error));
+                return;
+            }
+
+            ByteBuffer frame = Protocol.frame(Protocol.JOINED, 10);
+            frame.putLong(table.getId()).put((byte) seat).put((byte) colour.ordinal());
+            connection.send(Protocol.flip(frame));
+            table.addListener(connection);
+        });
+    }
+
+    private boolean isSeated(Connection connection) {
+        Table table = connection.getTable();
+        return table != null && table.getState() == Table.State.RUNNING;
+    }
+
+    private void reply(Connection connection, String error) {
+        connection.send(Protocol.encodeResult(error));
+    }
+
+    private static String describe(Throwable error) {
+        return error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+    }
+
+    private static long seatKey(long tableId, int seat) {
+        return tableId * 8 + seat;
+    }
+}
@@ -0,0 +1,210 @@
+package engine.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import engine.board.Board;
+import engine.board.Cell;
+import model.card.Card;
+import model.card.Marble;
+
+/**
+ * The {@code Protocol} spoken between a {@link NetworkServer} and its clients.
+ *
+ * <p>
+ * Every message is a frame: a four byte length, then a one byte type, then the
+ * payload; the length counts the type and the payload. Numbers are big-endian and
+ * strings are a two byte length followed by UTF-8.
+ * </p>
+ *
+ * <p>
+ * Cells are numbered 0 to 99 along the track, then 100 onwards through the safe
+ * zones, four cells per zone in the board's colour order. A cell is sent as one
+ * byte: 0 when it is empty, otherwise the marble's colour ordinal plus one, with
+ * {@link #TRAP} set when the cell is a trap. {@link #STATE} frames only carry the
+ * cells that changed since the last one the client was sent, which the table
+ * learns from the game's move events rather than by comparing whole boards.
+ * </p>
+ *
+ * <pre>
+ * client to server
+ *   OPEN          long seed, byte clientSeats   open a table and sit at seat 0
+ *   JOIN          long tableId, byte seat       sit at a client seat of an open table
+ *   SELECT_CARD   byte handIndex
+ *   SELECT_MARBLE byte cell
+ *   SPLIT         byte splitDistance
+ *   DESELECT
+ *   PLAY                                        play the selection and end the turn
+ *
+ * server to client
+ *   JOINED        long tableId, byte seat, byte colour
+ *   RESULT        byte ok, string message       answers every intent but OPEN and JOIN when they succeed
+ *   STATE         byte activeSeat, byte count, count * (byte cell, byte value)
+ *   HAND          byte count, count * string card name, empty for an empty slot
+ *   FINISHED      byte winner colour, or -1 if nobody won
+ * </pre>
+ */
+public final class Protocol {
+    public static final int HEADER_SIZE = 4;
+    public static final int MAX_FRAME_SIZE = 1024;
+
+    public static final byte OPEN = 1;
+    public static final byte JOIN = 2;
+    public static final byte SELECT_CARD = 3;
+    public static final byte SELECT_MARBLE = 4;
+    public static final byte SPLIT = 5;
+    public static final byte DESELECT = 6;
+    public static final byte PLAY = 7;
+
+    public static final byte JOINED = 16;
+    public static final byte RESULT = 17;
+    public static final byte STATE = 18;
+    public static final byte HAND = 19;
+    public static final byte FINISHED = 20;
+
+    public static final int TRACK_CELLS = 100;
+    public static final int SAFE_CELLS = 4;
+    public static final int CELLS = TRACK_CELLS + 4 * SAFE_CELLS;
+    public static final byte EMPTY = 0;
+    public static final byte TRAP = (byte) 0x80;
+
+    private Protocol() {
+    }
+
+    /**
+     * Returns the cell numbered {@code index}, or {@code null} if there is none.
+     */
+    public static Cell cellAt(Board board, int index) {
+        if (index < 0 || index >= CELLS)
+            return null;
+        if (index < TRACK_CELLS)
+            return board.getTrack().get(index);
+
+        index -= TRACK_CELLS;
+        return board.getSafeZones().get(index / SAFE_CELLS).getCells().get(index % SAFE_CELLS);
+    }
+
+    /**
+     * Returns the number of every cell of the board, by identity.
+     */
+    public static Map<Cell, Integer> indexCells(Board board) {
+        Map<Cell, Integer> indexes = new IdentityHashMap<>();
+        for (int i = 0; i < CELLS; i++)
+            indexes.put(cellAt(board, i), i);
+        return indexes;
+    }
+
+    /**
+     * Returns the value of every cell, in cell order.
+     */
+    public static byte[] snapshot(Board board) {
+        byte[] cells = new byte[CELLS];
+        for (int i = 0; i < CELLS; i++)
+            cells[i] = valueOf(cellAt(board, i));
+        return cells;
+    }
+
+    public static byte valueOf(Cell cell) {
+        Marble marble = cell.getMarble();
+        int value = marble == null ? EMPTY : marble.getColour().ordinal() + 1;
+        return (byte) (cell.isTrap() ? value | TRAP : value);
+    }
+
+    /**
+     * Returns the colour ordinal of the marble in a cell value, or -1 if it is empty.
+     */
+    public static int colourOf(byte value) {
+        return (value & ~TRAP) - 1;
+    }
+
+    /**
+     * Returns a {@link #STATE} frame of the cells of the board that differ from
+     * {@code previous}, and copies them into {@code previous}. Only the cells in
+     * {@code candidates} are looked at, or all of them if it is {@code null}.
+     * Returns {@code null} if nothing changed.
+     */
+    static ByteBuffer encodeState(byte[] previous, Board board, BitSet candidates, int activeSeat, boolean seatChanged) {
+        int changed = 0;
+        for (int i = first(candidates); i >= 0; i = next(candidates, i)) {
+            if (previous[i] != valueOf(cellAt(board, i)))
+                changed++;
+        }
+        if (changed == 0 && !seatChanged)
+            return null;
+
+        ByteBuffer frame = frame(STATE, 2 + 2 * changed);
+        frame.put((byte) activeSeat).put((byte) changed);
+        for (int i = first(candidates); i >= 0; i = next(candidates, i)) {
+            byte value = valueOf(cellAt(board, i));
+            if (previous[i] != value) {
+                frame.put((byte) i).put(value);
+                previous[i] = value;
+            }
+        }
+        return flip(frame);
+    }
+
+    private static int first(BitSet candidates) {
+        return candidates == null ? 0 : candidates.nextSetBit(0);
+    }
+
+    private static int next(BitSet candidates, int index) {
+        if (candidates == null)
+            return index + 1 < CELLS ? index + 1 : -1;
+        return candidates.nextSetBit(index + 1);
+    }
+
+    /**
+     * Returns a {@link #HAND} frame of the cards of a hand. A hand can hold empty
+     * slots, dealt back from the turns that were skipped, which are sent as empty
+     * names so the positions of the other cards stay the same.
+     */
+    static ByteBuffer encodeHand(List<Card> hand) {
+        List<byte[]> names = new ArrayList<>();
+        int size = 1;
+        for (Card card : hand) {
+            byte[] name = card == null ? new byte[0] : card.getName().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += 2 + name.length;
+        }
+
+        ByteBuffer frame = frame(HAND, size);
+        frame.put((byte) names.size());
+        for (byte[] name : names)
+            frame.putShort((short) name.length).put(name);
+        return flip(frame);
+    }
+
+    static ByteBuffer encodeResult(String error) {
+        byte[] message = error == null ? new byte[0] : error.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer frame = frame(RESULT, 3 + message.length);
+        frame.put((byte) (error == null ? 1 : 0)).putShort((short) message.length).put(message);
+        return flip(frame);
+    }
+
+    /**
+     * Returns a buffer holding the header of a frame of the given type, with room
+     * for {@code payloadSize} more bytes.
+     */
+    static ByteBuffer frame(byte type, int payloadSize) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + 1 + payloadSize);
+        frame.putInt(1 + payloadSize).put(type);
+        return frame;
+    }
+
+    static ByteBuffer flip(ByteBuffer frame) {
+        frame.flip();
+        return frame;
+    }
+
+    static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,237 @@
+package engine.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import model.Colour;
+
+/**
+ * A blocking client of a {@link NetworkServer}, for tools, tests and simulated
+ * players. It keeps a mirror of the board, the seat whose turn it is and its own
+ * hand, updated from the frames it reads while waiting for an answer.
+ *
+ * <p>
+ * Every intent waits for the server's {@link Protocol#RESULT} and returns the
+ * server's error message, or {@code null} if the intent went through.
+ * </p>
+ */
+public class ProtocolClient implements AutoCloseable {
+    private final SocketChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(Protocol.HEADER_SIZE);
+
+    private final byte[] cells = new byte[Protocol.CELLS];
+    private List<String> hand = new ArrayList<>();
+    private long tableId = -1;
+    private int seat = -1;
+    private Colour colour;
+    private int activeSeat = -1;
+    private boolean finished;
+    private Colour winner;
+
+    public ProtocolClient(InetSocketAddress address) throws IOException {
+        this.channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /**
+     * Opens a seeded table with {@code clientSeats} client seats and sits at seat 0.
+     *
+     * @throws IOException if the server refuses
+     */
+    public long open(long seed, int clientSeats) throws IOException {
+        ByteBuffer frame = Protocol.frame(Protocol.OPEN, 9);
+        frame.putLong(seed).put((byte) clientSeats);
+        return awaitJoined(frame);
+    }
+
+    /**
+     * Sits at a client seat of an open table.
+     *
+     * @throws IOException if the server refuses
+     */
+    public long join(long tableId, int seat) throws IOException {
+        ByteBuffer frame = Protocol.frame(Protocol.JOIN, 9);
+        frame.putLong(tableId).put((byte) seat);
+        return awaitJoined(frame);
+    }
+
+    public String selectCard(int handIndex) throws IOException {
+        return intent(Protocol.SELECT_CARD, handIndex);
+    }
+
+    public String selectMarble(int cell) throws IOException {
+        return intent(Protocol.SELECT_MARBLE, cell);
+    }
+
+    public String editSplitDistance(int splitDistance) throws IOException {
+        return intent(Protocol.SPLIT, splitDistance);
+    }
+
+    public String deselectAll() throws IOException {
+        return intent(Protocol.DESELECT, -1);
+    }
+
+    /**
+     * Plays the selection and, if it was legal, ends the turn.
+     */
+    public String playPlayerTurn() throws IOException {
+        return intent(Protocol.PLAY, -1);
+    }
+
+    /**
+     * Reads updates until it is this client's turn or the game is over. Returns
+     * {@code true} if it is this client's turn.
+     */
+    public boolean awaitTurn() throws IOException {
+        while (!finished && activeSeat != seat)
+            readFrame();
+        return !finished;
+    }
+
+    public long getTableId() {
+        return tableId;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    public Colour getColour() {
+        return colour;
+    }
+
+    public int getActiveSeat() {
+        return activeSeat;
+    }
+
+    /**
+     * Returns the mirrored cells, in {@link Protocol} cell order.
+     */
+    public byte[] getCells() {
+        return cells.clone();
+    }
+
+    /**
+     * Returns the names of the cards in this client's hand, with {@code null} for an
+     * empty slot.
+     */
+    public List<String> getHand() {
+        return hand;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public Colour getWinner() {
+        return winner;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long awaitJoined(ByteBuffer frame) throws IOException {
+        write(frame);
+        while (true) {
+            ByteBuffer reply = readFrame();
+            if (reply.get(0) == Protocol.JOINED)
+                return tableId;
+            if (reply.get(0) == Protocol.RESULT) {
+                String error = resultOf(reply);
+                if (error != null)
+                    throw new IOException(error);
+            }
+        }
+    }
+
+    private String intent(byte type, int value) throws IOException {
+        ByteBuffer frame = Protocol.frame(type, value < 0 ? 0 : 1);
+        if (value >= 0)
+            frame.put((byte) value);
+        write(frame);
+
+        while (true) {
+            ByteBuffer reply = readFrame();
+            if (reply.get(0) == Protocol.RESULT)
+                return resultOf(reply);
+        }
+    }
+
+    private void write(ByteBuffer frame) throws IOException {
+        frame.flip();
+        while (frame.hasRemaining())
+            channel.write(frame);
+    }
+
+    /**
+     * Reads one frame, applies it to the mirror and returns it, positioned after
+     * the type.
+     */
+    private ByteBuffer readFrame() throws IOException {
+        header.clear();
+        readFully(header);
+        int length = header.getInt(0);
+        if (length < 1 || length > Protocol.MAX_FRAME_SIZE)
+            throw new IOException("Bad frame length " + length);
+
+        ByteBuffer frame = ByteBuffer.allocate(length);
+        readFully(frame);
+        frame.flip();
+
+        switch (frame.get()) {
+            case Protocol.JOINED:
+                tableId = frame.getLong();
+                seat = frame.get();
+                colour = Colour.values()[frame.get()];
+                break;
+            case Protocol.STATE:
+                activeSeat = frame.get();
+                int changed = frame.get() & 0xFF;
+                for (int i = 0; i < changed; i++)
+                    cells[frame.get() & 0xFF] = frame.get();
+                break;
+            case Protocol.HAND:
+                List<String> cards = new ArrayList<>();
+                int count = frame.get();
+                for (int i = 0; i < count; i++) {
+                    String card = Protocol.readString(frame);
+                    cards.add(card.isEmpty() ? null : card);
+                }
+                hand = Collections.unmodifiableList(cards);
+                break;
+            case Protocol.FINISHED:
+                int colourIndex = frame.get();
+                winner = colourIndex < 0 ? null : Colour.values()[colourIndex];
+                finished = true;
+                break;
+            default:
+                break;
+        }
+
+        frame.position(1);
+        return frame;
+    }
+
+    private String resultOf(ByteBuffer reply) {
+        reply.position(1);
+        boolean ok = reply.get() != 0;
+        String message = Protocol.readString(reply);
+        return ok ? null : message;
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0)
+                throw new EOFException("The server closed the connection");
+        }
+    }
+}
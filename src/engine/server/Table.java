@@ -0,0 +1,414 @@
+package engine.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import engine.Game;
+import engine.GameListener;
+import engine.ai.CpuWeights;
+import engine.ai.SelfPlay;
+import engine.board.Cell;
+import exception.GameException;
+import model.Colour;
+import model.card.Card;
+import model.card.Marble;
+import model.player.CPU;
+import model.player.Player;
+
+/**
+ * A {@code Table} is one {@link Game} hosted by a {@link GameServer}, run as an
+ * actor: everything that touches the game is a message in the table's mailbox, and
+ * the messages are run one at a time by whichever server thread picks the table up.
+ * The game itself is therefore only ever used by one thread at a time and needs no
+ * locking.
+ *
+ * <p>
+ * Each time it is scheduled the table runs the messages waiting in its mailbox and
+ * then at most one CPU turn, and goes back to the end of the server's queue if
+ * there is more to do. A table full of CPU players thus gets one turn per pass over
+ * the queue, no matter how many other tables are running.
+ * </p>
+ *
+ * <p>
+ * Seats taken by clients are played through {@link #submit(int, Action)}. A client
+ * that does not finish its turn within the server's turn timeout has its first card
+ * discarded for it, and a table that has not finished within the table timeout is
+ * closed as timed out.
+ * </p>
+ */
+public class Table {
+    public static final int MAILBOX_CAPACITY = 64;
+    public static final int MESSAGES_PER_SLICE = 16;
+
+    public enum State {
+        RUNNING, FINISHED, TIMED_OUT, CLOSED
+    }
+
+    /**
+     * Something a client does with its seat, run on the table's thread.
+     */
+    public interface Action {
+        void apply(Game game) throws GameException;
+    }
+
+    /**
+     * Told about the table on the table's thread: once when added, then whenever a
+     * turn ends or a client action went through, and once when the table is done.
+     */
+    public interface Listener {
+        void changed(Table table, Game game);
+
+        void finished(Table table, Colour winner);
+    }
+
+    private final long id;
+    private final GameServer server;
+    private final Game game;
+    private final boolean[] clientSeats;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger clientMessages = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final CompletableFuture<Colour> result = new CompletableFuture<>();
+    private final List<Listener> listeners = new ArrayList<>();
+    private final BitSet changedCells = new BitSet(Protocol.CELLS);
+
+    // Only touched on the table's thread
+    private volatile State state = State.RUNNING;
+    private int turns;
+    private ScheduledFuture<?> turnTimer;
+    private ScheduledFuture<?> tableTimer;
+
+    Table(long id, GameServer server, long seed, String[] clientNames) throws IOException {
+        this.id = id;
+        this.server = server;
+        this.game = new Game(clientNames.length > 0 ? clientNames[0] : "CPU 0", seed);
+        this.clientSeats = new boolean[game.getPlayers().size()];
+
+        // Game seats a client first and CPU players after it; reseat to the requested mix.
+        ArrayList<Player> players = game.getPlayers();
+        Random random = new Random(seed);
+        for (int i = 0; i < players.size(); i++) {
+            Player seat = players.get(i);
+            Player player;
+
+            if (i < clientNames.length) {
+                player = i == 0 ? seat : new Player(clientNames[i], seat.getColour(), 0);
+                clientSeats[i] = true;
+            }
+            else if (seat instanceof CPU)
+                player = seat;
+            else
+                player = new CPU("CPU " + i, seat.getColour(), 0, game.getBoard(), CpuWeights.getDefault(), random);
+
+            player.setHand(seat.getHand());
+            players.set(i, player);
+        }
+
+        Map<Cell, Integer> cellIndexes = Protocol.indexCells(game.getBoard());
+        game.addListener(new GameListener() {
+            @Override
+            public void marbleMoved(Marble marble, Cell from, Cell to) {
+                mark(from);
+                mark(to);
+            }
+
+            @Override
+            public void trapMoved(Cell from, Cell to) {
+                mark(from);
+                mark(to);
+            }
+
+            private void mark(Cell cell) {
+                if (cell != null)
+                    changedCells.set(cellIndexes.get(cell));
+            }
+        });
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Completes with the winning colour, or with {@code null} if the game was cut off
+     * after {@link SelfPlay#MAX_TURNS} turns, timed out or was closed.
+     */
+    public CompletableFuture<Colour> getResult() {
+        return result;
+    }
+
+    public boolean isClientSeat(int seat) {
+        return seat >= 0 && seat < clientSeats.length && clientSeats[seat];
+    }
+
+    /**
+     * Runs {@code action} for the client in {@code seat} on the table's thread. The
+     * returned future fails with the action's {@link GameException}, with an
+     * {@link IllegalStateException} if it is not that seat's turn, or with a
+     * {@link RejectedExecutionException} if the mailbox is full.
+     */
+    public CompletableFuture<Void> submit(int seat, Action action) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        boolean accepted = offer(() -> {
+            if (state != State.RUNNING)
+                done.completeExceptionally(new IllegalStateException("Table " + id + " is " + state));
+            else if (!isClientSeat(seat) || getCurrentSeat() != seat)
+                done.completeExceptionally(new IllegalStateException("It is not seat " + seat + "'s turn"));
+            else {
+                Exception failure = null;
+                try {
+                    action.apply(game);
+                }
+                catch (GameException | RuntimeException e) {
+                    failure = e;
+                }
+
+                // a move can fail half way through, so listeners hear of failures too
+                notifyChanged();
+                if (failure == null)
+                    done.complete(null);
+                else
+                    done.completeExceptionally(failure);
+            }
+        });
+
+        if (!accepted)
+            done.completeExceptionally(new RejectedExecutionException("Table " + id + " is busy"));
+        return done;
+    }
+
+    /**
+     * Plays the selected card of the client in {@code seat} and passes the turn on.
+     * If the move is illegal the turn stays with the client, who can choose again.
+     */
+    public CompletableFuture<Void> playTurn(int seat) {
+        return submit(seat, game -> {
+            game.playPlayerTurn();
+            endTurn();
+        });
+    }
+
+    /**
+     * Runs {@code query} on the table's thread, for reading the game safely.
+     */
+    public <T> CompletableFuture<T> read(Function<Game, T> query) {
+        CompletableFuture<T> answer = new CompletableFuture<>();
+        if (!offer(() -> answer.complete(query.apply(game))))
+            answer.completeExceptionally(new RejectedExecutionException("Table " + id + " is busy"));
+        return answer;
+    }
+
+    /**
+     * Returns the {@link Protocol} numbers of the cells that changed since listeners
+     * were last told. Only valid on the table's thread, while listeners are told.
+     */
+    BitSet getChangedCells() {
+        return changedCells;
+    }
+
+    /**
+     * Adds a listener, which is told the current state straight away. Listeners
+     * added after the table is done are only told the result.
+     */
+    public void addListener(Listener listener) {
+        tell(() -> {
+            if (state == State.RUNNING) {
+                listeners.add(listener);
+                listener.changed(this, game);
+            }
+            else
+                listener.finished(this, result.getNow(null));
+        });
+    }
+
+    public void removeListener(Listener listener) {
+        tell(() -> listeners.remove(listener));
+    }
+
+    public void close() {
+        tell(() -> finish(State.CLOSED, null));
+    }
+
+    void start(long tableTimeoutMillis) {
+        tell(() -> {
+            if (tableTimeoutMillis > 0)
+                tableTimer = server.getTimer().schedule(() -> tell(() -> finish(State.TIMED_OUT, null)), tableTimeoutMillis, TimeUnit.MILLISECONDS);
+            startTurn();
+        });
+    }
+
+    /**
+     * Queues a message from a client, unless {@value #MAILBOX_CAPACITY} client
+     * messages are already waiting. Returns {@code false} if the mailbox is full.
+     */
+    private boolean offer(Runnable message) {
+        if (clientMessages.incrementAndGet() > MAILBOX_CAPACITY) {
+            clientMessages.decrementAndGet();
+            return false;
+        }
+
+        tell(() -> {
+            clientMessages.decrementAndGet();
+            message.run();
+        });
+        return true;
+    }
+
+    /**
+     * Queues a message and schedules the table if it is not already scheduled. The
+     * table's own messages, timeouts and listener changes always get in, however many
+     * client messages are waiting, so a busy client cannot keep a table from closing.
+     */
+    void tell(Runnable message) {
+        mailbox.add(message);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                server.getExecutor().execute(this::runSlice);
+            }
+            catch (RejectedExecutionException e) {
+                // the server is shutting down
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void runSlice() {
+        try {
+            Runnable message;
+            for (int i = 0; i < MESSAGES_PER_SLICE && (message = mailbox.poll()) != null; i++)
+                message.run();
+
+            if (isCpuTurn())
+                playCpuTurn();
+        }
+        catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            finish(State.CLOSED, null);
+        }
+        finally {
+            scheduled.set(false);
+        }
+
+        if (!mailbox.isEmpty() || isCpuTurn())
+            schedule();
+    }
+
+    private boolean isCpuTurn() {
+        return state == State.RUNNING && !isClientSeat(getCurrentSeat());
+    }
+
+    private int getCurrentSeat() {
+        return SelfPlay.seatOf(game, game.getActivePlayerColour());
+    }
+
+    private void playCpuTurn() {
+        if (game.canPlayTurn()) {
+            try {
+                game.playPlayerTurn();
+            }
+            catch (GameException e) {
+                // the CPU found nothing it could play and discards instead
+            }
+        }
+
+        endTurn();
+    }
+
+    private void endTurn() {
+        game.endPlayerTurn();
+        turns++;
+        server.countTurn();
+
+        Colour winner = game.checkWin();
+        if (winner != null)
+            finish(State.FINISHED, winner);
+        else if (turns >= SelfPlay.MAX_TURNS)
+            finish(State.FINISHED, null);
+        else {
+            startTurn();
+            notifyChanged();
+        }
+    }
+
+    private void notifyChanged() {
+        for (Listener listener : listeners)
+            listener.changed(this, game);
+        changedCells.clear();
+    }
+
+    private void startTurn() {
+        if (turnTimer != null)
+            turnTimer.cancel(false);
+        turnTimer = null;
+
+        int seat = getCurrentSeat();
+        long timeout = server.getTurnTimeoutMillis();
+        if (isClientSeat(seat) && timeout > 0) {
+            int turn = turns;
+            turnTimer = server.getTimer().schedule(() -> tell(() -> onTurnTimeout(turn)), timeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * The client in the current seat let its turn run out: discard its first card,
+     * as a CPU player with no legal move would, and move on.
+     */
+    private void onTurnTimeout(int turn) {
+        if (state != State.RUNNING || turn != turns)
+            return;
+
+        Player player = game.getPlayers().get(getCurrentSeat());
+        game.deselectAll();
+        for (Card card : player.getHand()) {
+            try {
+                game.selectCard(card);
+                break;
+            }
+            catch (GameException e) {
+                // try the next card
+            }
+        }
+
+        endTurn();
+    }
+
+    private void finish(State finalState, Colour winner) {
+        if (state != State.RUNNING)
+            return;
+
+        state = finalState;
+        if (turnTimer != null)
+            turnTimer.cancel(false);
+        if (tableTimer != null)
+            tableTimer.cancel(false);
+
+        server.remove(this);
+        result.complete(winner);
+
+        for (Listener listener : listeners)
+            listener.finished(this, winner);
+        listeners.clear();
+    }
+}
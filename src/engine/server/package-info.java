@@ -0,0 +1,24 @@
+/**
+ * The {@code engine.server} package hosts many games at once without a user
+ * interface, for running tables of CPU and remote players side by side.
+ *
+ * Key classes in this package:
+ * <ul>
+ *   <li>{@link engine.server.GameServer} - Opens tables, limits how many are open and runs them on a thread pool.</li>
+ *   <li>{@link engine.server.Table} - One game, run as an actor that plays CPU turns and applies client actions.</li>
+ *   <li>{@link engine.server.NetworkServer} - Seats remote players at tables over TCP, on one selector thread.</li>
+ *   <li>{@link engine.server.Protocol} - The length-prefixed frames spoken between the network server and its clients.</li>
+ *   <li>{@link engine.server.ProtocolClient} - A blocking client that mirrors its table, for tools and tests.</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * try (GameServer server = new GameServer(4, 10000, 30000, 600000)) {
+ *     Table table = server.openTable(42, "Alice");
+ *     table.submit(0, game -> game.selectCard(game.getPlayers().get(0).getHand().get(0)));
+ *     table.playTurn(0).join();
+ *     Colour winner = table.getResult().get();
+ * }
+ * }</pre>
+ */
+package engine.server;
@@ -5,9 +5,14 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Random;
 
 import engine.GameManager;
 import engine.board.BoardManager;
+import engine.jfr.DeckRefillEvent;
+import engine.jfr.FlightEvents;
+import engine.metrics.LatencyRecorder;
+import engine.metrics.Metrics;
 import model.card.standard.Ace;
 import model.card.standard.Five;
 import model.card.standard.Four;
@@ -24,10 +29,38 @@ import model.card.wild.Saver;
 public class Deck {
     private static final String CARDS_FILE = "Cards.csv";
     static private ArrayList<Card> cardsPool;
+    private static final Deck sharedDeck = new Deck();
+    private static final LatencyRecorder DRAW_TIMER = Metrics.recorder("deck.drawCards");
+
+    // null for the shared deck, which always works on the static cardsPool
+    private final ArrayList<Card> pool;
+    private final Random random;
+
+    private Deck() {
+        this.pool = null;
+        this.random = new Random();
+    }
+
+    /**
+     * Creates a deck with its own card pool, so that several games can run side by
+     * side without sharing the static pool.
+     */
+    public Deck(BoardManager boardManager, GameManager gameManager, Random random) throws IOException {
+        this.pool = readCardPool(boardManager, gameManager);
+        this.random = random;
+    }
+
+    public static Deck getSharedDeck() {
+        return sharedDeck;
+    }
 
-    @SuppressWarnings("resource")
 	public static void loadCardPool(BoardManager boardManager, GameManager gameManager) throws IOException {
-        cardsPool = new ArrayList<>();
+        cardsPool = readCardPool(boardManager, gameManager);
+    }
+
+    @SuppressWarnings("resource")
+    private static ArrayList<Card> readCardPool(BoardManager boardManager, GameManager gameManager) throws IOException {
+        ArrayList<Card> cards = new ArrayList<>();
 
 		BufferedReader br = new BufferedReader(new FileReader(CARDS_FILE));
 
@@ -71,24 +104,51 @@ public class Deck {
 					}
 				}
 				
-				cardsPool.add(card);
+				cards.add(card);
 			}	
         }
+
+        return cards;
     }
 
     public static ArrayList<Card> drawCards() {
-        Collections.shuffle(cardsPool);
-        ArrayList<Card> cards = new ArrayList<>(cardsPool.subList(0, 4));
-        cardsPool.subList(0, 4).clear();
-        return cards;
+        return sharedDeck.draw();
     }
     
     public static int getPoolSize() {
-		return cardsPool.size();
+		return sharedDeck.size();
 	}
 
     public static void refillPool(ArrayList<Card> cards) {
-        cardsPool.addAll(cards);
+        sharedDeck.refill(cards);
+    }
+
+    public ArrayList<Card> draw() {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+
+        ArrayList<Card> available = getPool();
+        Collections.shuffle(available, random);
+        ArrayList<Card> cards = new ArrayList<>(available.subList(0, 4));
+        available.subList(0, 4).clear();
+
+        if (Metrics.ENABLED)
+            DRAW_TIMER.record(System.nanoTime() - start);
+        return cards;
+    }
+
+    public int size() {
+        return getPool().size();
+    }
+
+    public void refill(ArrayList<Card> cards) {
+        getPool().addAll(cards);
+
+        if (FlightEvents.ENABLED)
+            DeckRefillEvent.emit(cards.size(), size());
+    }
+
+    private ArrayList<Card> getPool() {
+        return pool != null ? pool : cardsPool;
     }
 
 }
@@ -2,111 +2,287 @@ package model.player;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Random;
 
+import engine.ai.CpuWeights;
+import engine.ai.EndgameTable;
+import engine.ai.LegalMoves;
+import engine.ai.MoveEvaluator;
+import engine.ai.SevenEnumerator;
+import engine.board.Board;
 import engine.board.BoardManager;
+import engine.board.Cell;
+import engine.jfr.CpuDecisionEvent;
+import engine.jfr.FlightEvents;
+import engine.jfr.MoveRejectedEvent;
+import engine.metrics.LatencyRecorder;
+import engine.metrics.Metrics;
 import exception.GameException;
 import model.Colour;
 import model.card.Card;
 import model.card.Marble;
 
 public class CPU extends Player {
+	private static final LatencyRecorder PLAY_TIMER = Metrics.recorder("cpu.play");
+
 	private final BoardManager boardManager;
+	private final MoveEvaluator evaluator;
+	private final Random random;
+	private SevenEnumerator sevenEnumerator;
+	// What the last call to play() did, for its flight recorder event.
+	private int candidateCount;
+	private int triedCount;
+	private boolean endgame;
 
     public CPU(String name, Colour colour, int id,BoardManager boardManager) {
+        this(name, colour, id, boardManager, CpuWeights.getDefault(), new Random());
+    }
+
+    public CPU(String name, Colour colour, int id, BoardManager boardManager, CpuWeights weights, Random random) {
         super(name, colour,id);
         this.boardManager = boardManager;
+        this.evaluator = new MoveEvaluator(boardManager, weights);
+        this.random = random;
+    }
+
+    public CpuWeights getWeights() {
+        return evaluator.getWeights();
     }
 
     @Override
     public void play() throws GameException {
-        // Retrieve a list of actionable marbles from the board manager.
-        ArrayList<Marble> actionableMarbles = boardManager.getActionableMarbles();
-        
-        // Retrieve the current hand of cards and shuffle them to ensure randomness.
+        if (!Metrics.ENABLED && !FlightEvents.ENABLED) {
+            selectAndPlay();
+            return;
+        }
+
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        CpuDecisionEvent decision = FlightEvents.ENABLED ? CpuDecisionEvent.start() : null;
+        try {
+            selectAndPlay();
+        }
+        finally {
+            if (Metrics.ENABLED)
+                PLAY_TIMER.record(System.nanoTime() - start);
+            if (decision != null)
+                decision.emit(getColour(), getSelectedCard(), candidateCount, triedCount, endgame);
+        }
+    }
+
+    private void selectAndPlay() throws GameException {
+        candidateCount = 0;
+        triedCount = 0;
+        setPlayedMarbles(new ArrayList<>());
+
+        // Near the end of the game, look the move up instead of searching for one.
+        endgame = playEndgame();
+        if (endgame)
+            return;
+
+        // Retrieve the current hand of cards and shuffle them so that equally scored moves are picked at random.
         ArrayList<Card> cards = new ArrayList<>();
         cards.addAll(this.getHand());
-        int initialHandSize = cards.size();
-        Collections.shuffle(cards);
+        Collections.shuffle(cards, random);
+
+        // A board that can be probed lists the legal moves up front; any other board
+        // manager gets every selection that passes the card's rules, tried one by one.
+        ArrayList<Marble> actionableMarbles = null;
+        if (!(boardManager instanceof Board)) {
+            actionableMarbles = boardManager.getActionableMarbles();
+            Collections.shuffle(actionableMarbles, random);
+        }
         
-        // Iterate through each card in the shuffled hand.
+        ArrayList<Candidate> candidates = new ArrayList<>();
         for (Card card : cards) {
-            // Select the card to be played.
-            this.selectCard(card);
-            
-            // Prepare a list to keep track of valid marble counts for the action.
-            ArrayList<Integer> counts = new ArrayList<>();
-            for(int i = 0; i < 3; i++) { // Check for 0 or 1 or 2 marbles to act upon.
-                if(actionableMarbles.size() >= i) {
-                    ArrayList<Marble> testMarbles = new ArrayList<>();
-                    for(int j = 0; j < i; j++) {
-                        testMarbles.add(actionableMarbles.get(j));
-                    }
-                    
-                    // Validate the size of the marble group against the card's rules.
-                    if(card.validateMarbleSize(testMarbles)) {
-                        counts.add(i);
-                    }
-                }
+            // Skipped turns put empty slots in the fire pit, which can come back in a hand.
+            if (card == null)
+                continue;
+
+            if (actionableMarbles == null)
+                addLegalCandidates(candidates, card);
+            else
+                addCandidates(candidates, card, actionableMarbles);
+        }
+        
+        // Try the best scored selections first; the sort is stable so ties keep their shuffled order.
+        Collections.sort(candidates, (a, b) -> Double.compare(b.score, a.score));
+        candidateCount = candidates.size();
+        for (Candidate candidate : candidates) {
+            int splitDistance = boardManager.getSplitDistance();
+            triedCount++;
+            try {
+                this.selectCard(candidate.card);
+                if(candidate.splitDistance != 0)
+                    ((Board) boardManager).setSplitDistance(candidate.splitDistance);
+                setPlayedMarbles(candidate.marbles);
+                candidate.card.act(candidate.marbles);
+                return; // Return after successful action.
             }
-            
-            // Shuffle the counts to randomize the selection process.
-            Collections.shuffle(counts);
-            for(int i = 0; i < counts.size(); i++) {   
-                if(counts.get(i) == 0) {
-                    try {
-                        // Attempt to act with no marbles if the count is 0.
-                        getSelectedCard().act(new ArrayList<>());
-                        return; // Return after successful action.
-                    }
-                    catch(Exception e) {
-                        // Ignore exceptions and continue trying other possibilities.
-                    }
-                }
-                else if(counts.get(i) == 1) {
-                    // Attempt to act with one marble.
-                    ArrayList<Marble> toSend = new ArrayList<>();
-                    Collections.shuffle(actionableMarbles); // Shuffle marbles for random selection.
-                    for(Marble marble : actionableMarbles) {
-                        toSend.add(marble);
-                        if(card.validateMarbleColours(toSend)) {
-                            try {
-                                getSelectedCard().act(toSend);
-                                return; // Return after successful action.
-                            }
-                            catch(Exception e) {
-                                // Ignore exceptions and continue.
-                            }
-                        }
-                        toSend.clear();
-                    }
-                }
-                else {
-                    // Attempt to act with two marbles.
-                    ArrayList<Marble> toSend = new ArrayList<>();
-                    Collections.shuffle(actionableMarbles);
-                    for(int j = 0; j < actionableMarbles.size(); j++) {
-                        for(int k = j+1; k < actionableMarbles.size(); k++) {
-                            toSend.add(actionableMarbles.get(j));
-                            toSend.add(actionableMarbles.get(k));
-                            if(card.validateMarbleColours(toSend)) {
-                                try {
-                                    getSelectedCard().act(toSend);
-                                    return; // Return after successful action.
-                                }
-                                catch(Exception e) {
-                                    // Ignore exceptions and continue.
-                                }
-                            }
-                            toSend.clear();
-                        }
-                    }
-                }
+            catch(Exception e) {
+                // Ignore exceptions and continue trying other possibilities.
+                if (FlightEvents.ENABLED && e instanceof GameException)
+                    MoveRejectedEvent.emit(getColour(), candidate.card, (GameException) e);
+            }
+            finally {
+                // Leave the split distance as the human player last set it.
+                if(candidate.splitDistance != 0)
+                    ((Board) boardManager).setSplitDistance(splitDistance);
             }
         }
         
         // If no cards were played, select the first card by default.
-        if (cards.size() == initialHandSize)
-            this.selectCard(this.getHand().get(0));
+        setPlayedMarbles(new ArrayList<>());
+        this.selectCard(this.getHand().get(0));
+    }
+
+    /**
+     * Adds the moves of {@code card} that the board's probes find legal. Probing
+     * never throws, so the first candidate tried is nearly always accepted instead
+     * of thousands being played and rejected with an exception each.
+     */
+    private void addLegalCandidates(ArrayList<Candidate> candidates, Card card) {
+        ArrayList<LegalMoves.Move> moves = LegalMoves.generate((Board) boardManager, this, card, evaluator, getSevenEnumerator()).getMoves();
+        Collections.shuffle(moves, random);
+
+        for (LegalMoves.Move move : moves)
+            candidates.add(new Candidate(card, move.getMarbles(), move.getSplitDistance(), move.getScore()));
+    }
+
+    /**
+     * Adds every marble selection of {@code card} that passes the card's size and
+     * colour rules.
+     */
+    private void addCandidates(ArrayList<Candidate> candidates, Card card, ArrayList<Marble> actionableMarbles) {
+        for(int i = 0; i < 3; i++) { // Check for 0 or 1 or 2 marbles to act upon.
+            if(actionableMarbles.size() < i)
+                continue;
+
+            if(i == 0)
+                addCandidate(candidates, card, new ArrayList<>());
+
+            else if(i == 1) {
+                for(Marble marble : actionableMarbles)
+                    addCandidate(candidates, card, listOf(marble));
+            }
+
+            else {
+                for(int j = 0; j < actionableMarbles.size(); j++) {
+                    for(int k = j+1; k < actionableMarbles.size(); k++)
+                        addCandidate(candidates, card, listOf(actionableMarbles.get(j), actionableMarbles.get(k)));
+                }
+            }
+        }
+    }
+
+    private void addCandidate(ArrayList<Candidate> candidates, Card card, ArrayList<Marble> marbles) {
+        // Validate the marble group against the card's rules before scoring it.
+        if (card.validateMarbleSize(marbles) && card.validateMarbleColours(marbles))
+            candidates.add(new Candidate(card, marbles, 0, evaluator.score(getColour(), card, marbles)));
+    }
+
+    private SevenEnumerator getSevenEnumerator() {
+        if (sevenEnumerator == null)
+            sevenEnumerator = new SevenEnumerator((Board) boardManager);
+        return sevenEnumerator;
     }
-    
+
+    private static ArrayList<Marble> listOf(Marble... marbles) {
+        ArrayList<Marble> list = new ArrayList<>();
+        Collections.addAll(list, marbles);
+        return list;
+    }
+
+    private boolean playEndgame() {
+        EndgameTable table = getWeights().getEndgameTable();
+        if (table == null || !(boardManager instanceof Board))
+            return false;
+
+        // The table only applies once no marble waits in the Home Zone, since it never
+        // fields one, and every marble on the board sits in our trap-free home stretch
+        // with no opponent in the way.
+        if (!getMarbles().isEmpty())
+            return false;
+
+        ArrayList<Cell> stretch = ((Board) boardManager).getHomeStretch(getColour(), EndgameTable.TRACK_CELLS);
+        Marble[] marbles = new Marble[stretch.size()];
+        int position = 0;
+
+        for (int i = 0; i < stretch.size(); i++) {
+            Cell cell = stretch.get(i);
+            if (cell.isTrap())
+                return false;
+
+            Marble marble = cell.getMarble();
+            if (marble == null)
+                continue;
+
+            if (marble.getColour() != getColour())
+                return false;
+
+            marbles[i] = marble;
+            position |= 1 << i;
+        }
+
+        int onBoard = 0;
+        for (Marble marble : boardManager.getActionableMarbles()) {
+            if (marble.getColour() == getColour())
+                onBoard++;
+        }
+
+        if (position == 0 || Integer.bitCount(position) != onBoard)
+            return false;
+
+        // Pick the card whose best move leaves the fewest expected turns.
+        Card bestCard = null;
+        int bestMarble = EndgameTable.NO_ACTION;
+        float bestValue = Float.POSITIVE_INFINITY;
+
+        for (Card card : getHand()) {
+            int rank = EndgameTable.getForwardRank(card);
+            if (rank == 0)
+                continue;
+
+            int action = table.getBestAction(position, rank);
+            if (action == EndgameTable.NO_ACTION)
+                continue;
+
+            float value = table.getExpectedTurns(EndgameTable.moveMarble(position, action, rank));
+            if (bestCard == null || value < bestValue) {
+                bestCard = card;
+                bestMarble = action;
+                bestValue = value;
+            }
+        }
+
+        if (bestCard == null)
+            return false;
+
+        ArrayList<Marble> toSend = new ArrayList<>();
+        toSend.add(marbles[bestMarble]);
+
+        try {
+            this.selectCard(bestCard);
+            setPlayedMarbles(toSend);
+            bestCard.act(toSend);
+            return true;
+        }
+        catch (GameException e) {
+            return false;
+        }
+    }
+
+    private static class Candidate {
+        private final Card card;
+        private final ArrayList<Marble> marbles;
+        private final int splitDistance;
+        private final double score;
+
+        Candidate(Card card, ArrayList<Marble> marbles, int splitDistance, double score) {
+            this.card = card;
+            this.marbles = marbles;
+            this.splitDistance = splitDistance;
+            this.score = score;
+        }
+    }
+
 }
@@ -18,6 +18,7 @@ public class Player {
     private final ArrayList<Marble> marbles;
     private Card selectedCard;
 	private final ArrayList<Marble> selectedMarbles;
+	private ArrayList<Marble> playedMarbles;
 
     public Player(String name, Colour colour,int id) {
         this.name = name;
@@ -25,6 +26,7 @@ public class Player {
         this.id= id;
         this.hand = new ArrayList<>();
         this.selectedMarbles = new ArrayList<>();
+        this.playedMarbles = new ArrayList<>();
         this.marbles = new ArrayList<>();
         
         for (int i = 0; i < 4; i++) {
@@ -55,6 +57,18 @@ public class Player {
 		return marbles;
 	}
     
+    /**
+     * Returns the marbles the last call to {@link #play()} acted on, whether or not
+     * the move was accepted.
+     */
+    public ArrayList<Marble> getPlayedMarbles() {
+        return playedMarbles;
+    }
+
+    protected void setPlayedMarbles(ArrayList<Marble> playedMarbles) {
+        this.playedMarbles = playedMarbles;
+    }
+
     public Card getSelectedCard() {
         return selectedCard;
     }
@@ -92,6 +106,9 @@ public class Player {
     }
 
     public void play() throws GameException {
+        // nothing is played until the selection has passed its checks
+        this.playedMarbles = new ArrayList<>();
+
         if(selectedCard == null)
             throw new InvalidCardException("Must select a card to play.");
         
@@ -101,6 +118,7 @@ public class Player {
         if(!this.selectedCard.validateMarbleColours(this.selectedMarbles))
             throw new InvalidMarbleException("Invalid marble colours selected for " + selectedCard.getName() + ".");
         
+        this.playedMarbles = new ArrayList<>(this.selectedMarbles);
         this.selectedCard.act(this.selectedMarbles);
     }
 
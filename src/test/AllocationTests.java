@@ -0,0 +1,67 @@
+package test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.Test;
+
+import engine.Game;
+import engine.ai.SelfPlay;
+
+/**
+ * Plays a full seeded CPU game through {@link Game} and fails if the engine starts
+ * allocating noticeably more than it does today. The bounds leave about 50% headroom
+ * over what the game measured when they were set (3.2 MB in 781 turns, 54 KB for the
+ * worst turn), so they only trip on a real regression in a hot path.
+ */
+public class AllocationTests {
+	private static final long SEED = 7;
+	private static final long MAX_BYTES_PER_GAME = 5000000;
+	private static final long MAX_MEAN_BYTES_PER_TURN = 6000;
+	private static final long MAX_BYTES_PER_TURN = 96000;
+
+	private com.sun.management.ThreadMXBean getThreadMXBean() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+
+		com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+		allocationBean.setThreadAllocatedMemoryEnabled(true);
+		return allocationBean;
+	}
+
+	private Game createGame() throws IOException {
+		return SelfPlay.createGame(SEED);
+	}
+
+	@Test(timeout = 30000)
+	public void testGameStaysWithinAllocationBudget() throws IOException {
+		com.sun.management.ThreadMXBean bean = getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		// the first game also pays for loading the card pool and the engine's classes
+		SelfPlay.playOut(createGame(), SelfPlay.MAX_TURNS);
+
+		Game game = createGame();
+		long gameStart = bean.getThreadAllocatedBytes(thread);
+		long worstTurn = 0;
+		int turns = 0;
+
+		while (game.checkWin() == null && turns < SelfPlay.MAX_TURNS) {
+			long turnStart = bean.getThreadAllocatedBytes(thread);
+			SelfPlay.playTurn(game);
+			worstTurn = Math.max(worstTurn, bean.getThreadAllocatedBytes(thread) - turnStart);
+			turns++;
+		}
+
+		long total = bean.getThreadAllocatedBytes(thread) - gameStart;
+		assertTrue("game took " + turns + " turns", turns > 0);
+		assertTrue("allocated " + total + " bytes in the game", total <= MAX_BYTES_PER_GAME);
+		assertTrue("allocated " + total / turns + " bytes per turn", total / turns <= MAX_MEAN_BYTES_PER_TURN);
+		assertTrue("allocated " + worstTurn + " bytes in one turn", worstTurn <= MAX_BYTES_PER_TURN);
+	}
+}
@@ -0,0 +1,66 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import engine.Game;
+import engine.board.Board;
+import engine.board.Cell;
+import exception.GameException;
+import model.card.Marble;
+import model.player.Player;
+
+public class BoardProbeTests {
+
+	private Game createGame() throws IOException {
+		Game game = new Game("Player", 42);
+		for (Cell cell : game.getBoard().getTrack())
+			cell.setTrap(false);
+		return game;
+	}
+
+	private Marble place(Game game, int position) {
+		Player player = game.getPlayers().get(0);
+		Marble marble = player.getMarbles().remove(0);
+		game.getBoard().getTrack().get(position).setMarble(marble);
+		return marble;
+	}
+
+	private int basePosition(Game game) {
+		return game.getBoard().getTrack().indexOf(game.getBoard().getFieldingCell(game.getActivePlayerColour()));
+	}
+
+	@Test(timeout = 1000)
+	public void testDestinationAgreesWithMoveBy() throws IOException {
+		Game game = createGame();
+		Board board = game.getBoard();
+		int base = basePosition(game);
+		place(game, (base + 3) % 100);
+		place(game, (base + 5) % 100);
+		Marble mover = place(game, (base + 96) % 100);
+
+		for (int steps : new int[] { -4, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }) {
+			Cell from = board.getCell(mover);
+			Cell destination = board.getDestination(mover, steps, false);
+			boolean moved;
+			try {
+				board.moveBy(mover, steps, false);
+				moved = true;
+			}
+			catch (GameException e) {
+				moved = false;
+			}
+
+			assertEquals("steps " + steps, destination != null, moved);
+			if (moved) {
+				assertSame(destination, board.getCell(mover));
+				board.getCell(mover).setMarble(null);
+				from.setMarble(mover);
+			}
+		}
+	}
+}
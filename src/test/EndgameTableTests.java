@@ -0,0 +1,116 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+import engine.Game;
+import engine.ai.CpuWeights;
+import engine.ai.EndgameTable;
+import engine.ai.EndgameTableGenerator;
+import engine.board.Board;
+import engine.board.Cell;
+import exception.GameException;
+import model.card.Card;
+import model.card.Marble;
+import model.card.standard.Ace;
+import model.card.standard.Suit;
+import model.player.CPU;
+import model.player.Player;
+
+public class EndgameTableTests {
+	private static final int ENTRY = EndgameTable.TRACK_CELLS - 1;
+	private static final int FIRST_SAFE = EndgameTable.TRACK_CELLS;
+
+	private EndgameTableGenerator generate() throws IOException {
+		EndgameTableGenerator generator = new EndgameTableGenerator(EndgameTableGenerator.loadRankWeights("Cards.csv"));
+		generator.generate();
+		return generator;
+	}
+
+	@Test(timeout = 20000)
+	public void testMarblesInSafeZoneNeedNoMoreTurns() throws IOException {
+		EndgameTableGenerator generator = generate();
+		int position = (1 << FIRST_SAFE) | (1 << (FIRST_SAFE + 2));
+
+		assertEquals(0f, generator.getExpectedTurns(position), 0f);
+		for (int rank = 1; rank <= EndgameTable.MAX_RANK; rank++)
+			assertEquals(EndgameTable.NO_ACTION, generator.getBestAction(position, rank));
+	}
+
+	@Test(timeout = 20000)
+	public void testMarbleOnEntryCellOnlyMovesWithSmallRanks() throws IOException {
+		double[] weights = EndgameTableGenerator.loadRankWeights("Cards.csv");
+		EndgameTableGenerator generator = generate();
+		int position = 1 << ENTRY;
+
+		assertEquals(ENTRY, generator.getBestAction(position, 1));
+		assertEquals(ENTRY, generator.getBestAction(position, 3));
+		assertEquals(EndgameTable.NO_ACTION, generator.getBestAction(position, 5));
+		assertEquals(1 / (weights[1] + weights[2] + weights[3]), generator.getExpectedTurns(position), 1e-4);
+	}
+
+	@Test(timeout = 20000)
+	public void testMarbleCannotBypassOwnSafeZoneMarble() throws IOException {
+		EndgameTableGenerator generator = generate();
+		int position = (1 << ENTRY) | (1 << FIRST_SAFE);
+
+		assertEquals(FIRST_SAFE, generator.getBestAction(position, 2));
+		assertEquals(EndgameTable.NO_ACTION, generator.getBestAction(position, 4));
+	}
+
+	@Test(timeout = 20000)
+	public void testWrittenTableMatchesGenerator() throws IOException {
+		EndgameTableGenerator generator = generate();
+		File file = File.createTempFile("endgame", ".tbl");
+		file.deleteOnExit();
+		generator.write(file.getPath());
+
+		EndgameTable table = EndgameTable.open(file.getPath());
+		int[] positions = { 1, 1 << ENTRY, (1 << 3) | (1 << 7) | (1 << FIRST_SAFE) };
+
+		for (int position : positions) {
+			assertEquals(generator.getExpectedTurns(position), table.getExpectedTurns(position), 0f);
+			for (int rank = 1; rank <= EndgameTable.MAX_RANK; rank++)
+				assertEquals(generator.getBestAction(position, rank), table.getBestAction(position, rank));
+		}
+
+		assertTrue(table.getExpectedTurns(1) > table.getExpectedTurns(1 << ENTRY));
+	}
+
+	@Test(timeout = 20000)
+	public void testCpuFieldsWhileMarblesWaitAtHome() throws IOException, GameException {
+		File file = File.createTempFile("endgame", ".tbl");
+		file.deleteOnExit();
+		generate().write(file.getPath());
+
+		Game game = new Game("Player", 42);
+		Board board = game.getBoard();
+		for (Cell cell : board.getTrack())
+			cell.setTrap(false);
+
+		// it is the first CPU's turn, and it plays with the table; one of its marbles
+		// is in the home stretch and the other three are still at home
+		game.endPlayerTurn();
+		Player seat = game.getPlayers().get(1);
+		CPU cpu = new CPU(seat.getName(), seat.getColour(), 0, board,
+				new CpuWeights().withEndgameTable(EndgameTable.open(file.getPath())), new Random(1));
+		game.getPlayers().set(1, cpu);
+		Marble marble = cpu.getMarbles().remove(0);
+		board.getHomeStretch(cpu.getColour(), EndgameTable.TRACK_CELLS).get(ENTRY - 2).setMarble(marble);
+		ArrayList<Card> hand = new ArrayList<>();
+		hand.add(new Ace("Ace", "", Suit.SPADE, board, game));
+		cpu.setHand(hand);
+
+		cpu.play();
+
+		assertEquals(2, cpu.getMarbles().size());
+		assertEquals(marble, board.getHomeStretch(cpu.getColour(), EndgameTable.TRACK_CELLS).get(ENTRY - 2).getMarble());
+	}
+}
@@ -0,0 +1,48 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import engine.Game;
+import engine.ai.SelfPlay;
+import model.player.CPU;
+
+public class FastForwardTests {
+
+	@Test(timeout = 5000)
+	public void testStopsAtTheHumanPlayer() throws IOException {
+		Game game = new Game("Player", 42);
+		assertFalse(game.getPlayers().get(0) instanceof CPU);
+		assertEquals(0, SelfPlay.fastForward(game, 100));
+
+		game.endPlayerTurn();
+		assertEquals(3, SelfPlay.fastForward(game, 100));
+		assertSame(game.getPlayers().get(0).getColour(), game.getActivePlayerColour());
+		assertFalse(SelfPlay.isCpuToMove(game));
+	}
+
+	@Test(timeout = 5000)
+	public void testStopsAfterMaxTurns() throws IOException {
+		Game game = new Game("Player", 42);
+		game.endPlayerTurn();
+		assertEquals(2, SelfPlay.fastForward(game, 2));
+		assertTrue(SelfPlay.isCpuToMove(game));
+	}
+
+	@Test(timeout = 10000)
+	public void testPlaysCpuGameToTheEnd() throws IOException {
+		Game game = SelfPlay.createGame(3);
+
+		int played = SelfPlay.fastForward(game, SelfPlay.MAX_TURNS);
+		assertTrue(played > 0 && played < SelfPlay.MAX_TURNS);
+		assertNotNull(game.checkWin());
+		assertEquals(0, SelfPlay.fastForward(game, SelfPlay.MAX_TURNS));
+	}
+}
@@ -0,0 +1,131 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import engine.Game;
+import engine.board.Board;
+import engine.board.Cell;
+import engine.jfr.FlightEvents;
+import exception.GameException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.card.Card;
+import model.card.Deck;
+import model.card.Marble;
+import model.card.standard.Five;
+import model.card.standard.Suit;
+import model.player.Player;
+
+public class FlightEventsTests {
+
+	@Before
+	public void requireFlightRecorder() {
+		Assume.assumeTrue(FlightEvents.ENABLED);
+	}
+
+	private List<RecordedEvent> record(Runnable action) throws IOException {
+		Path file = Files.createTempFile("jackaroo", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		Files.delete(file);
+		return events;
+	}
+
+	private List<RecordedEvent> filter(List<RecordedEvent> events, String eventName) {
+		List<RecordedEvent> matching = new ArrayList<>();
+		for (RecordedEvent event : events) {
+			if (event.getEventType().getName().equals(eventName))
+				matching.add(event);
+		}
+		return matching;
+	}
+
+	@Test(timeout = 10000)
+	public void testDeckRefillIsRecorded() throws IOException {
+		Game game = new Game("Player", 42);
+		Deck deck = new Deck(game.getBoard(), game, new Random(0));
+		int before = deck.size();
+		ArrayList<Card> returned = new ArrayList<>(game.getPlayers().get(0).getHand());
+
+		List<RecordedEvent> events = filter(record(() -> deck.refill(returned)), "jackaroo.DeckRefill");
+
+		assertEquals(1, events.size());
+		assertEquals(returned.size(), events.get(0).getInt("returned"));
+		assertEquals(before + returned.size(), events.get(0).getInt("poolSize"));
+	}
+
+	@Test(timeout = 10000)
+	public void testRejectedTurnIsRecorded() throws IOException {
+		Game game = new Game("Player", 42);
+
+		List<RecordedEvent> events = record(() -> {
+			try {
+				game.playPlayerTurn();
+			}
+			catch (GameException e) {
+				// no card selected
+			}
+		});
+
+		List<RecordedEvent> rejected = filter(events, "jackaroo.MoveRejected");
+		assertEquals(1, rejected.size());
+		assertEquals("InvalidCardException", rejected.get(0).getString("exception"));
+		assertEquals(game.getActivePlayerColour().name(), rejected.get(0).getString("colour"));
+
+		List<RecordedEvent> turns = filter(events, "jackaroo.TurnPlayed");
+		assertEquals(1, turns.size());
+		assertFalse(turns.get(0).getBoolean("accepted"));
+	}
+
+	@Test(timeout = 10000)
+	public void testRejectedTurnDoesNotReportEarlierMarbles() throws IOException, GameException {
+		Game game = new Game("Player", 42);
+		Board board = game.getBoard();
+		for (Cell cell : board.getTrack())
+			cell.setTrap(false);
+
+		Player player = game.getPlayers().get(0);
+		Marble marble = player.getMarbles().remove(0);
+		board.getTrack().get((board.getTrack().indexOf(board.getFieldingCell(player.getColour())) + 5) % 100).setMarble(marble);
+		Card five = new Five("Five", "", Suit.SPADE, board, game);
+		player.getHand().add(five);
+		game.selectCard(five);
+		game.selectMarble(marble);
+		game.playPlayerTurn();
+
+		game.deselectAll();
+		List<RecordedEvent> turns = filter(record(() -> {
+			try {
+				game.playPlayerTurn();
+			}
+			catch (GameException e) {
+				// no card selected
+			}
+		}), "jackaroo.TurnPlayed");
+
+		assertEquals(1, turns.size());
+		assertFalse(turns.get(0).getBoolean("accepted"));
+		assertEquals("", turns.get(0).getString("marbles"));
+		assertTrue(player.getPlayedMarbles().isEmpty());
+	}
+}
@@ -0,0 +1,161 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import engine.Game;
+import engine.GameListener;
+import engine.ai.SelfPlay;
+import engine.board.Board;
+import engine.board.Cell;
+import engine.board.SafeZone;
+import exception.GameException;
+import model.Colour;
+import model.card.Card;
+import model.card.Marble;
+import model.player.Player;
+
+public class GameEventsTests {
+
+	/**
+	 * Follows a game from its events alone.
+	 */
+	private static class Mirror implements GameListener {
+		final Map<Cell, Marble> marbles = new IdentityHashMap<>();
+		final Set<Cell> traps = Collections.newSetFromMap(new IdentityHashMap<>());
+		final List<String> events = new ArrayList<>();
+		int firePit;
+		Colour next;
+
+		Mirror(Board board) {
+			for (Cell cell : cells(board)) {
+				if (cell.getMarble() != null)
+					marbles.put(cell, cell.getMarble());
+				if (cell.isTrap())
+					traps.add(cell);
+			}
+		}
+
+		@Override
+		public void marbleMoved(Marble marble, Cell from, Cell to) {
+			if (from != null && marbles.get(from) == marble)
+				marbles.remove(from);
+			if (to != null)
+				marbles.put(to, marble);
+			events.add((from == null ? "home" : "cell") + " -> " + (to == null ? "home" : "cell"));
+		}
+
+		@Override
+		public void trapMoved(Cell from, Cell to) {
+			traps.remove(from);
+			traps.add(to);
+			events.add("trap");
+		}
+
+		@Override
+		public void cardDiscarded(Colour colour, Card card) {
+			firePit++;
+		}
+
+		@Override
+		public void handsDealt(boolean firePitCleared) {
+			if (firePitCleared)
+				firePit = 0;
+		}
+
+		@Override
+		public void turnEnded(Colour next) {
+			this.next = next;
+		}
+	}
+
+	private static List<Cell> cells(Board board) {
+		List<Cell> cells = new ArrayList<>(board.getTrack());
+		for (SafeZone safeZone : board.getSafeZones())
+			cells.addAll(safeZone.getCells());
+		return cells;
+	}
+
+	private static int countCards(List<Card> firePit) {
+		int count = 0;
+		for (Card card : firePit) {
+			if (card != null)
+				count++;
+		}
+		return count;
+	}
+
+	@Test(timeout = 30000)
+	public void testEventsFollowWholeGames() throws IOException {
+		for (long seed = 1; seed <= 3; seed++) {
+			Game game = SelfPlay.createGame(seed);
+			Mirror mirror = new Mirror(game.getBoard());
+			game.addListener(mirror);
+
+			for (int turn = 0; game.checkWin() == null && turn < SelfPlay.MAX_TURNS; turn++) {
+				SelfPlay.playTurn(game);
+
+				for (Cell cell : cells(game.getBoard())) {
+					assertSame("seed " + seed + " turn " + turn, cell.getMarble(), mirror.marbles.get(cell));
+					assertEquals("seed " + seed + " turn " + turn, cell.isTrap(), mirror.traps.contains(cell));
+				}
+				assertEquals(countCards(game.getFirePit()), mirror.firePit);
+				assertSame(game.getActivePlayerColour(), mirror.next);
+			}
+		}
+	}
+
+	@Test(timeout = 1000)
+	public void testTrapGoesOffAndMoves() throws IOException, GameException {
+		Game game = new Game("Player", 42);
+		Board board = game.getBoard();
+		for (Cell cell : board.getTrack())
+			cell.setTrap(false);
+
+		Player player = game.getPlayers().get(0);
+		int base = board.getTrack().indexOf(board.getFieldingCell(player.getColour()));
+		Marble marble = player.getMarbles().remove(0);
+		Cell from = board.getTrack().get((base + 5) % 100);
+		Cell trap = board.getTrack().get((base + 8) % 100);
+		from.setMarble(marble);
+		trap.setTrap(true);
+
+		Mirror mirror = new Mirror(board);
+		game.addListener(mirror);
+		board.moveBy(marble, 3, false);
+
+		assertEquals(Arrays.asList("cell -> cell", "cell -> home", "trap"), mirror.events);
+		assertNull(trap.getMarble());
+		assertTrue(mirror.marbles.isEmpty());
+		assertEquals(1, mirror.traps.size());
+		assertTrue(mirror.traps.iterator().next().isTrap());
+		assertTrue(player.getMarbles().contains(marble));
+	}
+
+	@Test(timeout = 1000)
+	public void testRemovedListenerHearsNothing() throws IOException, GameException {
+		Game game = new Game("Player", 42);
+		Mirror mirror = new Mirror(game.getBoard());
+		game.addListener(mirror);
+		game.removeListener(mirror);
+
+		game.fieldMarble();
+		game.endPlayerTurn();
+
+		assertTrue(mirror.events.isEmpty());
+		assertNull(mirror.next);
+	}
+}
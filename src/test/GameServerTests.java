@@ -0,0 +1,162 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+
+import engine.Game;
+import engine.server.GameServer;
+import engine.server.Table;
+import model.Colour;
+
+public class GameServerTests {
+
+	@Test(timeout = 30000)
+	public void testManyCpuTablesFinish() throws Exception {
+		try (GameServer server = new GameServer(2, 500, 0, 0)) {
+			List<Table> tables = new ArrayList<>();
+			for (int i = 0; i < 200; i++)
+				tables.add(server.openTable(i));
+
+			for (Table table : tables) {
+				table.getResult().get(20, TimeUnit.SECONDS);
+				assertSame(Table.State.FINISHED, table.getState());
+			}
+			assertEquals(0, server.getTableCount());
+			assertTrue(server.getTurnCount() > 200);
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testSeededTableReplaysLikeAnyOtherGame() throws Exception {
+		Colour first;
+		try (GameServer server = new GameServer(1, 10, 0, 0)) {
+			first = server.openTable(5).getResult().get();
+		}
+
+		try (GameServer server = new GameServer(3, 10, 0, 0)) {
+			for (int i = 0; i < 5; i++)
+				server.openTable(100 + i);
+			assertEquals(first, server.openTable(5).getResult().get());
+		}
+	}
+
+	@Test(timeout = 5000)
+	public void testServerRefusesTablesWhenFull() throws IOException {
+		try (GameServer server = new GameServer(1, 2, 0, 0)) {
+			server.openTable(1, "A");
+			server.openTable(2, "B");
+			try {
+				server.openTable(3, "C");
+				fail("a third table should be refused");
+			}
+			catch (RejectedExecutionException e) {
+				assertEquals(2, server.getTableCount());
+			}
+		}
+	}
+
+	@Test(timeout = 5000)
+	public void testClientMustWaitForItsTurn() throws Exception {
+		try (GameServer server = new GameServer(1, 10, 0, 0)) {
+			Table table = server.openTable(1, "A", "B");
+
+			int waiting = table.read(game -> seatOf(game) == 0 ? 1 : 0).get();
+			try {
+				table.playTurn(waiting).get();
+				fail("seat " + waiting + " played out of turn");
+			}
+			catch (ExecutionException e) {
+				assertTrue(e.getCause() instanceof IllegalStateException);
+			}
+		}
+	}
+
+	@Test(timeout = 5000)
+	public void testIdleClientTimesOut() throws Exception {
+		try (GameServer server = new GameServer(1, 10, 50, 0)) {
+			Table table = server.openTable(1, "A", "B", "C", "D");
+			Thread.sleep(400);
+
+			assertTrue(table.read(game -> game.getFirePit().size()).get() >= 4);
+			assertSame(Table.State.RUNNING, table.getState());
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testTurnTimesOutWhileTheMailboxIsFull() throws Exception {
+		try (GameServer server = new GameServer(1, 10, 50, 0)) {
+			Table table = server.openTable(1, "A");
+
+			// hold the only server thread so client messages pile up behind it
+			CountDownLatch running = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			table.read(game -> {
+				running.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return null;
+			});
+			running.await();
+
+			List<CompletableFuture<Integer>> reads = new ArrayList<>();
+			CompletableFuture<Integer> read;
+			do {
+				read = table.read(game -> game.getFirePit().size());
+				reads.add(read);
+			} while (!read.isCompletedExceptionally());
+
+			// the turn timer fires while the mailbox is full
+			Thread.sleep(200);
+			release.countDown();
+			Thread.sleep(200);
+
+			assertEquals(Table.MAILBOX_CAPACITY + 1, reads.size());
+			assertTrue(table.read(game -> game.getFirePit().size()).get() >= 1);
+			assertSame(Table.State.RUNNING, table.getState());
+		}
+	}
+
+	@Test(timeout = 5000)
+	public void testTableTimesOut() throws Exception {
+		try (GameServer server = new GameServer(1, 10, 0, 100)) {
+			Table table = server.openTable(1, "A");
+
+			try {
+				table.getResult().get(50, TimeUnit.MILLISECONDS);
+				fail("the table should still be waiting for its client");
+			}
+			catch (TimeoutException e) {
+				assertNull(table.getResult().get(2, TimeUnit.SECONDS));
+				assertSame(Table.State.TIMED_OUT, table.getState());
+				assertEquals(0, server.getTableCount());
+			}
+		}
+	}
+
+	private static int seatOf(Game game) {
+		for (int i = 0; i < game.getPlayers().size(); i++) {
+			if (game.getPlayers().get(i).getColour() == game.getActivePlayerColour())
+				return i;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,188 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import engine.Game;
+import engine.ai.CpuWeights;
+import engine.ai.HintService;
+import engine.ai.LegalMoves;
+import engine.ai.MoveEvaluator;
+import engine.board.Board;
+import engine.board.Cell;
+import model.card.Card;
+import model.card.Marble;
+import model.card.standard.Ace;
+import model.card.standard.Five;
+import model.card.standard.Seven;
+import model.card.standard.Suit;
+import model.player.Player;
+
+public class HintServiceTests {
+
+	private Game createGame() throws IOException {
+		Game game = new Game("Player", 42);
+		for (Cell cell : game.getBoard().getTrack())
+			cell.setTrap(false);
+		return game;
+	}
+
+	private Marble place(Game game, int position) {
+		Player player = game.getPlayers().get(0);
+		Marble marble = player.getMarbles().remove(0);
+		game.getBoard().getTrack().get(position).setMarble(marble);
+		return marble;
+	}
+
+	private LegalMoves generate(Game game, Card card) {
+		Board board = game.getBoard();
+		return LegalMoves.generate(board, game.getPlayers().get(0), card, new MoveEvaluator(board, new CpuWeights()));
+	}
+
+	private int basePosition(Game game) {
+		return game.getBoard().getTrack().indexOf(game.getBoard().getFieldingCell(game.getActivePlayerColour()));
+	}
+
+	@Test(timeout = 1000)
+	public void testAceFieldsMarbleOntoEmptyBase() throws IOException {
+		Game game = createGame();
+		Board board = game.getBoard();
+		Card ace = new Ace("Ace", "", Suit.SPADE, board, game);
+
+		LegalMoves moves = generate(game, ace);
+
+		assertEquals(1, moves.getMoves().size());
+		assertTrue(moves.getMoves().get(0).getMarbles().isEmpty());
+		assertSame(board.getTrack().get(basePosition(game)), moves.getMoves().get(0).getTargets().get(0));
+	}
+
+	@Test(timeout = 1000)
+	public void testAceCannotFieldOntoOwnMarble() throws IOException {
+		Game game = createGame();
+		Board board = game.getBoard();
+		int base = basePosition(game);
+		Marble marble = place(game, base);
+		Card ace = new Ace("Ace", "", Suit.SPADE, board, game);
+
+		LegalMoves moves = generate(game, ace);
+
+		assertEquals(1, moves.getMoves().size());
+		assertSame(marble, moves.getMoves().get(0).getMarbles().get(0));
+		assertSame(board.getTrack().get((base + 1) % 100), moves.getTargets(marble).get(0));
+	}
+
+	@Test(timeout = 1000)
+	public void testHintsAreCachedPerPosition() throws IOException {
+		Game game = createGame();
+		HintService service = new HintService(game, new CpuWeights());
+		service.startTurn();
+
+		for (Card card : game.getPlayers().get(0).getHand())
+			assertSame(service.getHints(card), service.getHints(card));
+
+		Card first = game.getPlayers().get(0).getHand().get(0);
+		LegalMoves before = service.getHints(first);
+		service.startTurn();
+		assertSame(before, service.getHints(first));
+
+		place(game, (basePosition(game) + 5) % 100);
+		assertTrue(before != service.getHints(first));
+		service.shutdown();
+	}
+
+	@Test(timeout = 1000)
+	public void testQueuedHintsUseTheBoardAsItWas() throws Exception {
+		Game game = createGame();
+		Board board = game.getBoard();
+		int from = (basePosition(game) + 5) % 100;
+		Marble marble = place(game, from);
+		Player player = game.getPlayers().get(0);
+		player.setHand(new ArrayList<>());
+		Card five = new Five("Five", "", Suit.SPADE, board, game);
+		player.getHand().add(five);
+
+		// hold the hint thread so the hints are only worked out after the marble moved on
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		CountDownLatch release = new CountDownLatch(1);
+		executor.execute(() -> {
+			try {
+				release.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		HintService service = new HintService(game, new CpuWeights(), executor);
+		service.startTurn();
+		CompletableFuture<LegalMoves> queued = service.requestHints(five);
+		board.getTrack().get(from).setMarble(null);
+		board.getTrack().get((from + 40) % 100).setMarble(marble);
+		release.countDown();
+
+		LegalMoves moves = queued.get();
+		assertEquals(1, moves.getTargets(marble).size());
+		assertSame(board.getTrack().get((from + 5) % 100), moves.getTargets(marble).get(0));
+		service.shutdown();
+	}
+
+	@Test(timeout = 1000)
+	public void testStateHashFollowsMarblesAndTurn() throws IOException {
+		Game game = createGame();
+		Board board = game.getBoard();
+		long empty = board.getStateHash();
+
+		Marble marble = place(game, (basePosition(game) + 5) % 100);
+		long placed = board.getStateHash();
+		assertTrue(empty != placed);
+
+		board.getCell(marble).setMarble(null);
+		assertEquals(empty, board.getStateHash());
+
+		board.getTrack().get((basePosition(game) + 5) % 100).setMarble(marble);
+		game.endPlayerTurn();
+		assertTrue(placed != board.getStateHash());
+	}
+
+	@Test(timeout = 1000)
+	public void testForSplitKeepsOnlyThatSplit() throws IOException {
+		Game game = createGame();
+		Board board = game.getBoard();
+		int base = basePosition(game);
+		place(game, (base + 10) % 100);
+		place(game, (base + 30) % 100);
+		Card seven = new Seven("Seven", "", Suit.SPADE, board, game);
+
+		LegalMoves moves = generate(game, seven);
+		assertEquals(6, moves.getSplitDistances().size());
+
+		for (LegalMoves.Move move : moves.forSplit(2).getMoves())
+			assertTrue(move.getSplitDistance() == 0 || move.getSplitDistance() == 2);
+		assertEquals(moves.getMoves().size() - 5 * 2, moves.forSplit(2).getMoves().size());
+	}
+
+	@Test(timeout = 1000)
+	public void testNoSuggestionWithoutPlayableCards() throws IOException {
+		Game game = createGame();
+		Player player = game.getPlayers().get(0);
+		player.getMarbles().clear();
+		player.setHand(new ArrayList<>());
+		player.getHand().add(new Seven("Seven", "", Suit.SPADE, game.getBoard(), game));
+
+		HintService service = new HintService(game, new CpuWeights());
+		service.startTurn();
+
+		assertNull(service.getSuggestion());
+		service.shutdown();
+	}
+}
@@ -0,0 +1,96 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import engine.Game;
+import engine.board.Board;
+import engine.metrics.Counter;
+import engine.metrics.LatencyRecorder;
+import engine.metrics.Metrics;
+import exception.GameException;
+import exception.IllegalMovementException;
+import model.card.Marble;
+
+public class MetricsTests {
+
+	@Test(timeout = 1000)
+	public void testRecorderQuantilesWithinBucketPrecision() {
+		LatencyRecorder recorder = Metrics.recorder("test.quantiles");
+		recorder.reset();
+		for (long value = 1; value <= 10000; value++)
+			recorder.record(value * 1000);
+
+		assertEquals(10000, recorder.getCount());
+		assertEquals(5000500.0, recorder.getMean(), 1e-6);
+		assertEquals(5000000, recorder.getValueAtQuantile(0.5), 5000000 * 0.07);
+		assertEquals(9900000, recorder.getValueAtQuantile(0.99), 9900000 * 0.07);
+		assertTrue(recorder.getMax() >= 10000000);
+		assertTrue(recorder.getMax() <= 10000000 * 1.07);
+	}
+
+	@Test(timeout = 1000)
+	public void testSmallValuesAreExact() {
+		LatencyRecorder recorder = Metrics.recorder("test.small");
+		recorder.reset();
+		for (long value = 0; value < 32; value++)
+			recorder.record(value);
+
+		assertEquals(0, recorder.getValueAtQuantile(0));
+		assertEquals(15, recorder.getValueAtQuantile(0.5));
+		assertEquals(31, recorder.getMax());
+	}
+
+	@Test(timeout = 1000)
+	public void testCountersAreSharedByName() {
+		Counter counter = Metrics.counter("test.counter");
+		counter.reset();
+		counter.increment();
+		Metrics.counter("test.counter").add(2);
+
+		assertEquals(3, counter.getCount());
+		assertTrue(Metrics.getReport().contains("test.counter"));
+	}
+
+	@Test(timeout = 5000)
+	public void testScratchBoardsDoNotCountTheirMoves() throws Exception {
+		Assume.assumeTrue(Metrics.ENABLED);
+		LatencyRecorder moves = Metrics.recorder("board.moveBy");
+		Counter rejected = Metrics.counter("board.moveBy.rejected");
+
+		Game game = new Game("Player", 1);
+		game.getBoard().setMetricsRecorded(false);
+		long movesBefore = moves.getCount();
+		long rejectedBefore = rejected.getCount();
+		tryMoves(game);
+		assertEquals(movesBefore, moves.getCount());
+		assertEquals(rejectedBefore, rejected.getCount());
+
+		tryMoves(new Game("Player", 1));
+		assertEquals(movesBefore + 2, moves.getCount());
+		assertEquals(rejectedBefore + 1, rejected.getCount());
+	}
+
+	/**
+	 * Moves a marble of the active player three steps, then tries to move one that is
+	 * not on the board.
+	 */
+	private static void tryMoves(Game game) throws GameException {
+		Board board = game.getBoard();
+		Marble marble = game.getPlayers().get(0).getMarbles().remove(0);
+		board.getTrack().get(1).setMarble(marble);
+		board.moveBy(marble, 3, false);
+
+		try {
+			board.moveBy(game.getPlayers().get(0).getMarbles().get(0), 3, false);
+			fail("a marble at home cannot move");
+		}
+		catch (IllegalMovementException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,244 @@
+package test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import engine.server.GameServer;
+import engine.server.NetworkServer;
+import engine.server.Protocol;
+import engine.server.ProtocolClient;
+import engine.server.Table;
+
+public class NetworkServerTests {
+
+	private static InetSocketAddress address(NetworkServer server) {
+		return new InetSocketAddress("127.0.0.1", server.getPort());
+	}
+
+	/**
+	 * Plays up to {@code turns} turns of the client's seat by trying every card, on
+	 * its own and with each of the client's marbles, until one is accepted. Checks
+	 * the client's board against the server's at the start of every turn. Returns
+	 * the number of turns played.
+	 */
+	private static int playTurns(GameServer games, ProtocolClient client, int turns) throws Exception {
+		int played = 0;
+		for (int turn = 0; turn < turns && client.awaitTurn(); turn++) {
+			Table table = games.getTable(client.getTableId());
+			if (table == null)
+				break;
+			byte[] server = table.read(game -> Protocol.snapshot(game.getBoard())).get();
+			assertArrayEquals(server, client.getCells());
+
+			if (tryMove(client))
+				played++;
+			else {
+				// nothing fits: wait for the turn timeout to discard for us
+				client.deselectAll();
+				client.selectCard(0);
+			}
+		}
+		return played;
+	}
+
+	private static boolean tryMove(ProtocolClient client) throws IOException {
+		List<Integer> own = new ArrayList<>();
+		own.add(-1);
+		byte[] cells = client.getCells();
+		for (int i = 0; i < cells.length; i++) {
+			if (Protocol.colourOf(cells[i]) == client.getColour().ordinal())
+				own.add(i);
+		}
+
+		for (int card = 0; card < client.getHand().size(); card++) {
+			for (int cell : own) {
+				if (client.deselectAll() != null || client.selectCard(card) != null)
+					return false;
+				if (cell >= 0 && client.selectMarble(cell) != null)
+					continue;
+				if (client.playPlayerTurn() == null)
+					return true;
+			}
+		}
+		return false;
+	}
+
+	@Test(timeout = 60000)
+	public void testRemotePlayersPlayWholeTurns() throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(8);
+		try (GameServer games = new GameServer(2, 100, 1000, 0); NetworkServer server = new NetworkServer(games, 0)) {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				long seed = i;
+				results.add(clients.submit(() -> {
+					try (ProtocolClient client = new ProtocolClient(address(server))) {
+						client.open(seed, 1);
+						assertEquals(0, client.getSeat());
+						return playTurns(games, client, 6);
+					}
+				}));
+			}
+
+			int played = 0;
+			for (Future<Integer> result : results)
+				played += result.get();
+			assertTrue("only " + played + " turns were played", played >= 10);
+		}
+		finally {
+			clients.shutdownNow();
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void testClientSeatsPlayPastTheFirstRefill() throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(8);
+		try (GameServer games = new GameServer(2, 100, 20, 0); NetworkServer server = new NetworkServer(games, 0)) {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				long seed = 100 + i;
+				results.add(clients.submit(() -> {
+					try (ProtocolClient client = new ProtocolClient(address(server))) {
+						client.open(seed, 1);
+						Table table = games.getTable(client.getTableId());
+
+						// the hands are refilled within six rounds, and skipped turns have put
+						// empty slots into the fire pit by then, which come back in the hands
+						int turns = 0;
+						for (; turns < 40 && client.awaitTurn(); turns++) {
+							if (!tryMove(client)) {
+								client.deselectAll();
+								client.selectCard(0);
+							}
+						}
+						assertTrue(table.getState() == Table.State.RUNNING || table.getState() == Table.State.FINISHED);
+						return client.isFinished() ? 40 : turns;
+					}
+				}));
+			}
+
+			for (Future<Integer> result : results)
+				assertEquals(40, (int) result.get());
+		}
+		finally {
+			clients.shutdownNow();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testSecondClientJoinsAndWaitsForItsTurn() throws Exception {
+		try (GameServer games = new GameServer(1, 10, 0, 0); NetworkServer server = new NetworkServer(games, 0);
+				ProtocolClient first = new ProtocolClient(address(server));
+				ProtocolClient second = new ProtocolClient(address(server));
+				ProtocolClient third = new ProtocolClient(address(server))) {
+			long tableId = first.open(3, 2);
+			assertEquals(tableId, second.join(tableId, 1));
+			assertEquals(1, second.getSeat());
+			assertTrue(first.getColour() != second.getColour());
+
+			for (int seat : new int[] { 1, 2 }) {
+				try {
+					third.join(tableId, seat);
+					fail("joined seat " + seat);
+				}
+				catch (IOException e) {
+					assertNotNull(e.getMessage());
+				}
+			}
+
+			assertTrue(first.awaitTurn());
+			assertNotNull(second.selectCard(0));
+			assertNull(first.selectCard(0));
+			assertNotNull(first.selectCard(9));
+			assertNotNull(first.selectMarble(0));
+			assertEquals(4, first.getHand().size());
+			assertEquals(4, second.getHand().size());
+		}
+	}
+
+	@Test(timeout = 30000)
+	public void testServerHoldsManyIdleConnections() throws Exception {
+		List<ProtocolClient> clients = new ArrayList<>();
+		try (GameServer games = new GameServer(2, 1000, 0, 0); NetworkServer server = new NetworkServer(games, 0)) {
+			for (int i = 0; i < 500; i++) {
+				ProtocolClient client = new ProtocolClient(address(server));
+				clients.add(client);
+				client.open(i, 1);
+			}
+
+			assertEquals(500, server.getConnectionCount());
+			assertEquals(500, games.getTableCount());
+			for (ProtocolClient client : clients) {
+				assertTrue(client.awaitTurn());
+				assertFalse(client.isFinished());
+			}
+
+			for (ProtocolClient client : clients)
+				client.close();
+			long deadline = System.currentTimeMillis() + 5000;
+			while (server.getConnectionCount() > 0 && System.currentTimeMillis() < deadline)
+				Thread.sleep(10);
+			assertEquals(0, server.getConnectionCount());
+		}
+		finally {
+			for (ProtocolClient client : clients)
+				client.close();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testBusyTableRefusesJoinAndFreesTheSeat() throws Exception {
+		try (GameServer games = new GameServer(1, 10, 0, 0);
+				NetworkServer server = new NetworkServer(games, 0);
+				ProtocolClient first = new ProtocolClient(address(server));
+				ProtocolClient second = new ProtocolClient(address(server))) {
+			long tableId = first.open(1, 2);
+			Table table = games.getTable(tableId);
+
+			// hold the only server thread and fill the table's mailbox behind it
+			CountDownLatch running = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			table.read(game -> {
+				running.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return null;
+			});
+			running.await();
+			while (!table.read(game -> null).isCompletedExceptionally())
+				;
+
+			try {
+				second.join(tableId, 1);
+				fail("a busy table should refuse the seat");
+			}
+			catch (IOException e) {
+				assertTrue(e.getMessage().contains("busy"));
+			}
+
+			release.countDown();
+			while (table.read(game -> null).isCompletedExceptionally())
+				Thread.sleep(10);
+			assertEquals(tableId, second.join(tableId, 1));
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import engine.ai.SelfPlayTuner.MatchResult;
+
+public class SelfPlayTunerTests {
+
+	@Test(timeout = 1000)
+	public void testEvenMatchHasNoElo() {
+		MatchResult result = new MatchResult(200, 0, 200);
+		assertEquals(0.5, result.getScore(), 1e-9);
+		assertEquals(0, result.getElo(), 1e-9);
+		assertEquals(-0.661, result.getLlr(), 1e-3);
+		assertFalse(result.isDecided());
+	}
+
+	@Test(timeout = 1000)
+	public void testEloOfKnownScore() {
+		MatchResult result = new MatchResult(231, 0, 169);
+		assertEquals(54.29, result.getElo(), 0.01);
+		assertEquals(2.975, result.getLlr(), 1e-3);
+	}
+
+	@Test(timeout = 1000)
+	public void testAcceptsJustPastTheUpperBound() {
+		MatchResult below = new MatchResult(230, 0, 170);
+		assertEquals(2.853, below.getLlr(), 1e-3);
+		assertFalse(below.isAccepted());
+		assertFalse(below.isDecided());
+
+		MatchResult above = new MatchResult(231, 0, 169);
+		assertTrue(above.isAccepted());
+		assertFalse(above.isRejected());
+		assertTrue(above.toString().endsWith("accepted"));
+	}
+
+	@Test(timeout = 1000)
+	public void testRejectsJustPastTheLowerBound() {
+		MatchResult above = new MatchResult(181, 0, 219);
+		assertEquals(-2.872, above.getLlr(), 1e-3);
+		assertFalse(above.isRejected());
+		assertTrue(above.toString().endsWith("undecided"));
+
+		MatchResult below = new MatchResult(180, 0, 220);
+		assertEquals(-2.991, below.getLlr(), 1e-3);
+		assertTrue(below.isRejected());
+		assertFalse(below.isAccepted());
+		assertTrue(below.toString().endsWith("rejected"));
+	}
+
+	@Test(timeout = 1000)
+	public void testDrawsCountAsHalfAWin() {
+		MatchResult result = new MatchResult(100, 200, 100);
+		assertEquals(0.5, result.getScore(), 1e-9);
+		assertEquals(-1.323, result.getLlr(), 1e-3);
+	}
+
+	@Test(timeout = 1000)
+	public void testZeroVarianceStaysUndecided() {
+		MatchResult none = new MatchResult();
+		assertEquals(0, none.getLlr(), 0);
+		assertEquals(0, none.getElo(), 1e-9);
+		assertFalse(none.isDecided());
+
+		MatchResult allWins = new MatchResult(10, 0, 0);
+		assertEquals(0, allWins.getLlr(), 0);
+		assertFalse(allWins.isDecided());
+		assertTrue(allWins.getElo() > 2000 && !Double.isInfinite(allWins.getElo()));
+		assertTrue(allWins.toString().endsWith("undecided"));
+
+		MatchResult allDraws = new MatchResult(0, 10, 0);
+		assertEquals(0, allDraws.getLlr(), 0);
+		assertFalse(allDraws.isDecided());
+	}
+}
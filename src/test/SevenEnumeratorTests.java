@@ -0,0 +1,98 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import engine.Game;
+import engine.ai.CpuWeights;
+import engine.ai.LegalMoves;
+import engine.ai.MoveEvaluator;
+import engine.ai.SevenEnumerator;
+import engine.board.Board;
+import engine.board.Cell;
+import model.card.Card;
+import model.card.Marble;
+import model.card.standard.Seven;
+import model.card.standard.Suit;
+import model.player.Player;
+
+public class SevenEnumeratorTests {
+
+	private Game createGame() throws IOException {
+		Game game = new Game("Player", 42);
+		for (Cell cell : game.getBoard().getTrack())
+			cell.setTrap(false);
+		return game;
+	}
+
+	private Marble place(Game game, int position) {
+		Player player = game.getPlayers().get(0);
+		Marble marble = player.getMarbles().remove(0);
+		game.getBoard().getTrack().get(position).setMarble(marble);
+		return marble;
+	}
+
+	private LegalMoves generate(Game game, Card card) {
+		Board board = game.getBoard();
+		return LegalMoves.generate(board, game.getPlayers().get(0), card, new MoveEvaluator(board, new CpuWeights()));
+	}
+
+	private int basePosition(Game game) {
+		return game.getBoard().getTrack().indexOf(game.getBoard().getFieldingCell(game.getActivePlayerColour()));
+	}
+
+	@Test(timeout = 1000)
+	public void testSevenListsEveryLegalSplit() throws IOException {
+		Game game = createGame();
+		Board board = game.getBoard();
+		int base = basePosition(game);
+		Marble first = place(game, (base + 10) % 100);
+		Marble second = place(game, (base + 30) % 100);
+		Card seven = new Seven("Seven", "", Suit.SPADE, board, game);
+
+		LegalMoves moves = generate(game, seven);
+
+		ArrayList<Integer> splits = new ArrayList<>();
+		for (LegalMoves.Move move : moves.getMoves()) {
+			if (move.getMarbles().size() == 2 && move.getMarbles().get(0) == first)
+				splits.add(move.getSplitDistance());
+		}
+
+		assertEquals(6, splits.size());
+		assertEquals(2, moves.getPlayableMarbles().size());
+		assertNotNull(moves.getBestMove());
+	}
+
+	@Test(timeout = 1000)
+	public void testSevenSecondLegSeesFirstLeg() throws IOException {
+		Game game = createGame();
+		Board board = game.getBoard();
+		int base = basePosition(game);
+		Marble behind = place(game, (base + 10) % 100);
+		Marble ahead = place(game, (base + 13) % 100);
+		Card seven = new Seven("Seven", "", Suit.SPADE, board, game);
+
+		ArrayList<Marble> marbles = new ArrayList<>();
+		marbles.add(ahead);
+		marbles.add(behind);
+		ArrayList<LegalMoves.Move> moves = new SevenEnumerator(board).enumerate(game.getActivePlayerColour(), seven,
+				marbles, new MoveEvaluator(board, new CpuWeights()));
+
+		ArrayList<Integer> splits = new ArrayList<>();
+		for (LegalMoves.Move move : moves) {
+			if (move.getMarbles().get(0) == ahead)
+				splits.add(move.getSplitDistance());
+		}
+
+		// with the marble ahead moved first, the one behind may now pass or take its old cell
+		assertEquals(Arrays.asList(3, 4, 5, 6), splits);
+		assertSame(ahead, board.getTrack().get((base + 13) % 100).getMarble());
+	}
+}
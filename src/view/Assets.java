@@ -0,0 +1,198 @@
+package view;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.image.Image;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+
+/**
+ * Loads the large assets, music, big pictures and dialogs, without holding up the
+ * first frame.
+ *
+ * <p>
+ * Music is only opened once the window has drawn its first frame, on a background
+ * thread, and starts playing on the FX thread when it is ready. Large images load
+ * in the background as well: the returned {@link Image} can be shown at once and
+ * fills in when it has been decoded. Decoded images are kept in a least recently
+ * used cache with a memory limit, so a picture that is shown again is not decoded
+ * again, but the big ones do not all stay in memory for the whole game. Small
+ * images that are drawn all the time belong in {@link Textures} instead.
+ * </p>
+ *
+ * <p>
+ * Dialogs that are only needed later, like the winner dialog, can be parsed ahead
+ * with {@link #preloadFxml(String)} and then taken with {@link #loadFxml(String)}.
+ * </p>
+ */
+public final class Assets {
+    public static final long DEFAULT_CACHE_BYTES = 64L * 1024 * 1024;
+
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "asset-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final LinkedHashMap<String, Image> images = new LinkedHashMap<>(16, 0.75f, true);
+    private static long maxCacheBytes = DEFAULT_CACHE_BYTES;
+    private static final Map<String, CompletableFuture<FXMLLoader>> fxml = new ConcurrentHashMap<>();
+
+    private Assets() {
+    }
+
+    public static synchronized void setMaxCacheBytes(long maxCacheBytes) {
+        Assets.maxCacheBytes = maxCacheBytes;
+        evict();
+    }
+
+    /**
+     * Returns the image at a resource path, scaled to fit the given size unless it
+     * is 0 and decoded in the background, or {@code null} if there is no such
+     * resource. Decoding at the size it is shown keeps large pictures small in
+     * memory.
+     */
+    public static synchronized Image getImage(String path, double width, double height) {
+        String key = path + '@' + width + 'x' + height;
+        Image image = images.get(key);
+        if (image != null)
+            return image;
+
+        URL url = Assets.class.getResource(path);
+        if (url == null) {
+            System.err.println("Missing image: " + path);
+            return null;
+        }
+
+        image = new Image(url.toExternalForm(), width, height, true, true, true);
+        images.put(key, image);
+        evict();
+        return image;
+    }
+
+    /**
+     * Drops the least recently used images until the decoded ones fit the limit.
+     * Images still loading count as empty, and the newest image always stays.
+     */
+    private static void evict() {
+        long bytes = 0;
+        for (Image image : images.values())
+            bytes += sizeOf(image);
+
+        Iterator<Map.Entry<String, Image>> entries = images.entrySet().iterator();
+        while (bytes > maxCacheBytes && images.size() > 1 && entries.hasNext()) {
+            bytes -= sizeOf(entries.next().getValue());
+            entries.remove();
+        }
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    /**
+     * Opens the music at a resource path after the first frame has been drawn and
+     * plays it in a loop. The future completes on the FX thread once it plays, or
+     * exceptionally if it could not be opened. Cancelling the future before then
+     * keeps the music from starting.
+     */
+    public static CompletableFuture<MediaPlayer> playMusic(String path, double volume) {
+        CompletableFuture<MediaPlayer> music = new CompletableFuture<>();
+        afterFirstFrame(() -> loader.execute(() -> {
+            try {
+                URL url = Assets.class.getResource(path);
+                if (url == null)
+                    throw new IllegalArgumentException("Audio file not found at: " + path);
+
+                MediaPlayer player = new MediaPlayer(new Media(url.toExternalForm()));
+                player.setCycleCount(MediaPlayer.INDEFINITE);
+                player.setVolume(volume);
+                Platform.runLater(() -> {
+                    if (music.complete(player))
+                        player.play();
+                    else
+                        player.dispose();
+                });
+            }
+            catch (RuntimeException e) {
+                music.completeExceptionally(e);
+            }
+        }));
+        return music;
+    }
+
+    /**
+     * Starts parsing the FXML file at a resource path in the background, for the next
+     * {@link #loadFxml(String)} of it. Does nothing if it is already being parsed.
+     */
+    public static void preloadFxml(String path) {
+        fxml.computeIfAbsent(path, key -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return parseFxml(key);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, loader));
+    }
+
+    /**
+     * Returns a loader that has parsed the FXML file at a resource path, taking the
+     * one {@link #preloadFxml(String)} prepared if there is one and parsing it now
+     * otherwise. Every loader is handed out once, since its nodes can only be shown
+     * in one place.
+     */
+    public static FXMLLoader loadFxml(String path) throws IOException {
+        CompletableFuture<FXMLLoader> preloaded = fxml.remove(path);
+        if (preloaded != null) {
+            try {
+                return preloaded.join();
+            }
+            catch (CompletionException e) {
+                // parse it again below, so the error is reported where it is needed
+            }
+        }
+        return parseFxml(path);
+    }
+
+    private static FXMLLoader parseFxml(String path) throws IOException {
+        URL url = Assets.class.getResource(path);
+        if (url == null)
+            throw new IOException("FXML file not found at: " + path);
+
+        FXMLLoader fxmlLoader = new FXMLLoader(url);
+        fxmlLoader.load();
+        return fxmlLoader;
+    }
+
+    /**
+     * Runs {@code task} on the FX thread once the next frame has been drawn.
+     */
+    public static void afterFirstFrame(Runnable task) {
+        Platform.runLater(() -> new AnimationTimer() {
+            private int pulses;
+
+            @Override
+            public void handle(long now) {
+                // the first pulse draws the frame, the second comes after it
+                if (++pulses < 2)
+                    return;
+                stop();
+                task.run();
+            }
+        }.start());
+    }
+}
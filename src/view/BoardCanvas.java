@@ -0,0 +1,147 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.geometry.Point2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+/**
+ * Paints the parts of a board that never change during a game (the track, its
+ * links, the safe corridors and the home corners) into one {@link Canvas}, instead
+ * of keeping a scene-graph node for every tile and line.
+ *
+ * <p>
+ * The board is described first, with {@link #addLine}, {@link #addTile},
+ * {@link #addRect} and {@link #addImage}, and then painted in one pass by
+ * {@link #paint()}: every line first, so the links stay behind the tiles
+ * whatever order they were added in, then everything else in the order it was
+ * added. The canvas is
+ * cached as a bitmap, so once painted the whole board costs the scene about as
+ * much as one image. Marbles and highlights are not part of it and stay nodes on
+ * top.
+ * </p>
+ */
+public class BoardCanvas extends Canvas {
+    private final List<Shape> lines = new ArrayList<>();
+    private final List<Shape> shapes = new ArrayList<>();
+
+    public BoardCanvas(double width, double height) {
+        super(width, height);
+        setMouseTransparent(true);
+        setCache(true);
+    }
+
+    /**
+     * Forgets everything added so far and clears the canvas.
+     */
+    public void clear() {
+        lines.clear();
+        shapes.clear();
+        getGraphicsContext2D().clearRect(0, 0, getWidth(), getHeight());
+    }
+
+    public void addLine(Point2D from, Point2D to, Color stroke) {
+        lines.add(new Shape(from.getX(), from.getY(), to.getX(), to.getY(), null, stroke, 1, null));
+    }
+
+    /**
+     * Adds a round tile centred on {@code centre}.
+     */
+    public void addTile(Point2D centre, double radius, Color fill, Color stroke) {
+        shapes.add(new Shape(centre, radius, fill, stroke));
+    }
+
+    /**
+     * Adds the outline of a rectangle.
+     */
+    public void addRect(double x, double y, double width, double height, Color stroke, double strokeWidth) {
+        shapes.add(new Shape(x, y, width, height, null, stroke, strokeWidth, null));
+    }
+
+    /**
+     * Adds an image scaled into the given box. Missing images are skipped.
+     */
+    public void addImage(Image image, double x, double y, double width, double height) {
+        if (image != null)
+            shapes.add(new Shape(x, y, width, height, null, null, 0, image));
+    }
+
+    /**
+     * Paints everything added since the last {@link #clear()}.
+     */
+    public void paint() {
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.clearRect(0, 0, getWidth(), getHeight());
+
+        for (Shape line : lines) {
+            gc.setStroke(line.stroke);
+            gc.setLineWidth(line.strokeWidth);
+            gc.strokeLine(line.x, line.y, line.width, line.height);
+        }
+
+        for (Shape shape : shapes) {
+            if (shape.image != null)
+                gc.drawImage(shape.image, shape.x, shape.y, shape.width, shape.height);
+            else if (shape.oval) {
+                if (shape.fill != null) {
+                    gc.setFill(shape.fill);
+                    gc.fillOval(shape.x, shape.y, shape.width, shape.height);
+                }
+                if (shape.stroke != null) {
+                    gc.setStroke(shape.stroke);
+                    gc.setLineWidth(shape.strokeWidth);
+                    gc.strokeOval(shape.x, shape.y, shape.width, shape.height);
+                }
+            }
+            else {
+                gc.setStroke(shape.stroke);
+                gc.setLineWidth(shape.strokeWidth);
+                gc.strokeRect(shape.x, shape.y, shape.width, shape.height);
+            }
+        }
+    }
+
+    /**
+     * One thing to paint: a line, a tile, a rectangle outline or an image. Lines keep
+     * their end point in {@code width} and {@code height}.
+     */
+    private static class Shape {
+        final double x;
+        final double y;
+        final double width;
+        final double height;
+        final Color fill;
+        final Color stroke;
+        final double strokeWidth;
+        final Image image;
+        final boolean oval;
+
+        Shape(double x, double y, double width, double height, Color fill, Color stroke, double strokeWidth, Image image) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.fill = fill;
+            this.stroke = stroke;
+            this.strokeWidth = strokeWidth;
+            this.image = image;
+            this.oval = false;
+        }
+
+        Shape(Point2D centre, double radius, Color fill, Color stroke) {
+            this.x = centre.getX() - radius;
+            this.y = centre.getY() - radius;
+            this.width = radius * 2;
+            this.height = radius * 2;
+            this.fill = fill;
+            this.stroke = stroke;
+            this.strokeWidth = 1;
+            this.image = null;
+            this.oval = true;
+        }
+    }
+}
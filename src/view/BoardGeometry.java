@@ -0,0 +1,155 @@
+package view;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.geometry.Point2D;
+
+/**
+ * Where everything on the board goes for one window size: the track cells, the
+ * safe corridors and the home corners.
+ *
+ * <p>
+ * Every position is worked out once, when the geometry of a size is first asked
+ * for with {@link #forSize(double)}, and kept; drawing the board, placing marbles
+ * and animating them are then table lookups. All lengths scale with the window,
+ * taking the original 800 pixel board as the reference, so a different window
+ * size gives the same board, larger or smaller.
+ * </p>
+ *
+ * <p>
+ * The four sides of the board are numbered clockwise from the right, in the order
+ * the track passes them: {@link #RIGHT}, {@link #BOTTOM}, {@link #LEFT} and
+ * {@link #TOP}. Side {@code s} starts at track cell {@code s * 25}.
+ * </p>
+ */
+public final class BoardGeometry {
+    public static final int RIGHT = 0;
+    public static final int BOTTOM = 1;
+    public static final int LEFT = 2;
+    public static final int TOP = 3;
+
+    public static final int TRACK_CELLS = 100;
+    public static final int SAFE_CELLS = 4;
+    public static final double REFERENCE_SIZE = 800;
+
+    private static final double RING_RADIUS = 300;
+    private static final double VERTICAL_SHIFT = -80;
+    private static final double TILE_SPACING = 10;
+    private static final double MAX_TILE_RADIUS = 20;
+    private static final double MIN_TILE_RADIUS = 10;
+    private static final double SAFE_SPACING_MULTIPLIER = 2.2;
+    private static final double HOME_SIZE = 80;
+    private static final double HOME_MARGIN = 20;
+
+    private static final Map<Double, BoardGeometry> cache = new ConcurrentHashMap<>();
+
+    private final double windowSize;
+    private final double centerX;
+    private final double centerY;
+    private final double ringRadius;
+    private final double tileRadius;
+    private final double homeSize;
+    private final Point2D[] track = new Point2D[TRACK_CELLS];
+    private final Point2D[][] safeZones = new Point2D[4][SAFE_CELLS];
+    private final Point2D[] homeCorners = new Point2D[4];
+
+    private BoardGeometry(double windowSize) {
+        double scale = windowSize / REFERENCE_SIZE;
+        this.windowSize = windowSize;
+        this.centerX = windowSize / 2;
+        this.centerY = windowSize / 2 + VERTICAL_SHIFT * scale;
+        this.ringRadius = RING_RADIUS * scale;
+        this.homeSize = HOME_SIZE * scale;
+
+        // the largest tile that still leaves a gap between neighbours, within bounds
+        double chord = 2 * ringRadius * Math.sin(Math.PI / TRACK_CELLS);
+        double fitting = (chord - TILE_SPACING * scale) / 2;
+        this.tileRadius = Math.max(MIN_TILE_RADIUS * scale, Math.min(MAX_TILE_RADIUS * scale, fitting));
+
+        for (int i = 0; i < TRACK_CELLS; i++) {
+            double angle = 2 * Math.PI * i / TRACK_CELLS;
+            track[i] = new Point2D(centerX + ringRadius * Math.cos(angle), centerY + ringRadius * Math.sin(angle));
+        }
+
+        double safeSpacing = tileRadius * SAFE_SPACING_MULTIPLIER;
+        for (int side = 0; side < 4; side++) {
+            Point2D base = getBaseCell(side);
+            Point2D inward = new Point2D(centerX - base.getX(), centerY - base.getY()).normalize();
+            for (int i = 0; i < SAFE_CELLS; i++)
+                safeZones[side][i] = base.add(inward.multiply((i + 1) * safeSpacing));
+        }
+
+        double margin = HOME_MARGIN * scale;
+        double far = windowSize - margin - homeSize;
+        homeCorners[RIGHT] = new Point2D(far, margin);
+        homeCorners[BOTTOM] = new Point2D(far, far);
+        homeCorners[LEFT] = new Point2D(margin, far);
+        homeCorners[TOP] = new Point2D(margin, margin);
+    }
+
+    /**
+     * Returns the geometry of a square window of the given size, working it out the
+     * first time that size is asked for.
+     */
+    public static BoardGeometry forSize(double windowSize) {
+        return cache.computeIfAbsent(windowSize, BoardGeometry::new);
+    }
+
+    public double getWindowSize() {
+        return windowSize;
+    }
+
+    public double getCenterX() {
+        return centerX;
+    }
+
+    public double getCenterY() {
+        return centerY;
+    }
+
+    public double getRingRadius() {
+        return ringRadius;
+    }
+
+    public double getTileRadius() {
+        return tileRadius;
+    }
+
+    public Point2D getTrackCell(int index) {
+        return track[index];
+    }
+
+    /**
+     * Returns the track cell a side's safe corridor branches off from.
+     */
+    public Point2D getBaseCell(int side) {
+        return track[side * TRACK_CELLS / 4];
+    }
+
+    /**
+     * Returns cell {@code index} of a side's safe corridor, counting inwards from the
+     * track.
+     */
+    public Point2D getSafeCell(int side, int index) {
+        return safeZones[side][index];
+    }
+
+    /**
+     * Returns the top left corner of a side's home square.
+     */
+    public Point2D getHomeCorner(int side) {
+        return homeCorners[side];
+    }
+
+    public double getHomeSize() {
+        return homeSize;
+    }
+
+    /**
+     * Returns the centre of a side's home square.
+     */
+    public Point2D getHomeCenter(int side) {
+        return homeCorners[side].add(homeSize / 2, homeSize / 2);
+    }
+}
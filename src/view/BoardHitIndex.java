@@ -0,0 +1,93 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import engine.board.Cell;
+import javafx.geometry.Point2D;
+
+/**
+ * Finds the board cell under a point, so the whole board can take clicks through one
+ * handler instead of one per node.
+ *
+ * <p>
+ * The window of a {@link BoardGeometry} is cut into square buckets one tile across,
+ * and every cell is filed under the buckets its tile overlaps, at most four. A
+ * lookup only looks at the few cells filed under the bucket of the point, however
+ * many cells the board has. The index holds cells, not marbles: the marble on a cell
+ * is looked up when the cell is hit, so it is always the very marble standing there
+ * and never one that merely equals it.
+ * </p>
+ */
+public class BoardHitIndex {
+    private final double radius;
+    private final double bucketSize;
+    private final int columns;
+    private final int rows;
+    private final List<List<Entry>> buckets;
+
+    public BoardHitIndex(BoardGeometry geometry) {
+        this.radius = geometry.getTileRadius();
+        this.bucketSize = radius * 2;
+        this.columns = (int) Math.ceil(geometry.getWindowSize() / bucketSize);
+        this.rows = columns;
+        this.buckets = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++)
+            buckets.add(new ArrayList<>());
+    }
+
+    /**
+     * Files every cell in {@code positions} at its position, replacing whatever was
+     * indexed before.
+     */
+    public void index(Map<Cell, Point2D> positions) {
+        for (List<Entry> bucket : buckets)
+            bucket.clear();
+
+        for (Map.Entry<Cell, Point2D> position : positions.entrySet()) {
+            Entry entry = new Entry(position.getKey(), position.getValue().getX(), position.getValue().getY());
+            int left = column(entry.x - radius), right = column(entry.x + radius);
+            int top = row(entry.y - radius), bottom = row(entry.y + radius);
+            for (int r = top; r <= bottom; r++)
+                for (int c = left; c <= right; c++)
+                    buckets.get(r * columns + c).add(entry);
+        }
+    }
+
+    /**
+     * Returns the cell whose tile contains the point, or {@code null} if the point is
+     * not on a tile.
+     */
+    public Cell cellAt(double x, double y) {
+        if (x < 0 || y < 0 || x >= columns * bucketSize || y >= rows * bucketSize)
+            return null;
+
+        for (Entry entry : buckets.get(row(y) * columns + column(x))) {
+            double dx = x - entry.x, dy = y - entry.y;
+            if (dx * dx + dy * dy <= radius * radius)
+                return entry.cell;
+        }
+        return null;
+    }
+
+    private int column(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) (x / bucketSize)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) (y / bucketSize)));
+    }
+
+    private static class Entry {
+        final Cell cell;
+        final double x;
+        final double y;
+
+        Entry(Cell cell, double x, double y) {
+            this.cell = cell;
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package view;
 
+import engine.ai.LegalMoves;
+
 import engine.board.Board;
 
 import java.util.ArrayList;
@@ -18,6 +20,7 @@ import javafx.geometry.Pos;
 import model.player.CPU;
 import javafx.scene.Node;
 import model.card.Card;
+import model.card.Marble;
 import javafx.scene.control.Label;
 
 import javafx.scene.image.Image;
@@ -64,13 +67,9 @@ public class BoardView {
 
 	private double windowSize = DEFAULT_WINDOW_SIZE;
 
-	private double ringRadius = 300;
-
 	private double tileRadius = 80;
 
-	private double safeSpacingMultiplier = 2.2;
-
-	private double verticalShift = -80; // To shift the center drawing up
+	private BoardGeometry geometry;
 
 	private double calculatedCenterX;
 
@@ -78,6 +77,18 @@ public class BoardView {
 
 	private final List<Integer> quadrantOrder;
 
+	private MoveHighlighter moveHighlighter;
+
+	private PerfOverlay perfOverlay;
+
+	private boolean canvasRendering = Boolean.getBoolean("jackaroo.board.canvas");
+
+	private BoardCanvas boardCanvas;
+
+	private CellLayer cellLayer;
+
+	private BoardHitIndex hitIndex;
+
 	public BoardView() {
 
 		this.rootPane = new BorderPane();
@@ -88,12 +99,6 @@ public class BoardView {
 
 		this.rootPane.setPadding(new Insets(0, 0, 20, 0)); // Default padding
 
-// Calculate center points based on window size and shift
-
-		this.calculatedCenterX = windowSize / 2;
-
-		this.calculatedCenterY = windowSize / 2 + verticalShift;
-
 		quadrantOrder = new ArrayList<>(Arrays.asList(0, 1, 2, 3));
 
 		Collections.shuffle(quadrantOrder);
@@ -118,12 +123,104 @@ public class BoardView {
 
 	}
 
+	/**
+	 * * Returns the board cell under a point of the center pane, or null. Lets a
+	 * * controller handle every board click with one handler on the center pane.
+	 * */
+
+	public Cell getCellAt(double x, double y) {
+
+		return hitIndex == null ? null : hitIndex.cellAt(x, y);
+
+	}
+
+	/**
+	 * * Returns the marble on the board cell under a point of the center pane, or null.
+	 * */
+
+	public Marble getMarbleAt(double x, double y) {
+
+		return cellLayer == null ? null : cellLayer.getOccupant(getCellAt(x, y));
+
+	}
+
+	/**
+	 * Chooses whether the next {@link #drawGameBoard} paints the static board into a
+	 * single {@link BoardCanvas} instead of a node per tile and line. Defaults to the
+	 * {@code jackaroo.board.canvas} system property.
+	 */
+	public void setCanvasRendering(boolean canvasRendering) {
+		this.canvasRendering = canvasRendering;
+	}
+
+	public boolean isCanvasRendering() {
+		return canvasRendering;
+	}
+
 	public Map<Cell, Point2D> getCellPositionMap() {
 
 		return cellPositionMap;
 
 	}
 
+	/**
+	 * * Highlight the playable marbles and reachable cells of the selected card.
+	 * */
+
+	public void showHints(Board board, LegalMoves moves) {
+
+		getMoveHighlighter().setRadius(tileRadius);
+
+		getMoveHighlighter().show(board, moves);
+
+	}
+
+	/**
+	 * * Let hints highlight this marble's view instead of drawing a ring on its cell.
+	 * */
+
+	public void addMarbleView(MarbleView view) {
+
+		getMoveHighlighter().addMarbleView(view);
+
+	}
+
+	private MoveHighlighter getMoveHighlighter() {
+
+		if (moveHighlighter == null)
+
+			moveHighlighter = new MoveHighlighter(centerPane, cellPositionMap);
+
+		return moveHighlighter;
+
+	}
+
+	public void clearHints() {
+
+		if (moveHighlighter != null)
+
+			moveHighlighter.clear();
+
+	}
+
+	/**
+	 * * Show or hide the FPS, pulse, node count, heap and animation overlay.
+	 * */
+
+	public void togglePerfOverlay() {
+
+		if (perfOverlay == null) {
+
+			perfOverlay = new PerfOverlay(null);
+
+			centerPane.getChildren().add(perfOverlay);
+
+		}
+
+		perfOverlay.toggle();
+
+	}
+
 	/**
 	 * * Automatically lay out player panels according to the shuffled quadrant order.
 	 * */
@@ -180,6 +277,38 @@ public class BoardView {
 
 	}
 
+	/**
+	 * * Returns the side of the board geometry a panel position sits on.
+	 * */
+
+	private static int sideOf(PanelPosition pos) {
+
+		switch (pos) {
+
+		case RIGHT:
+
+			return BoardGeometry.RIGHT;
+
+		case BOTTOM:
+
+			return BoardGeometry.BOTTOM;
+
+		case LEFT:
+
+			return BoardGeometry.LEFT;
+
+		case TOP:
+
+			return BoardGeometry.TOP;
+
+		default:
+
+			throw new IllegalStateException();
+
+		}
+
+	}
+
 	/**
 	 * * Draw the game board and auto-layout player panels.
 	 * */
@@ -189,9 +318,19 @@ public void drawGameBoard(Board board,
                           Map<Integer, Player> playerMap,
                           FiredeckView firedeckView,
                           DeckView deckView) {
-    // 1) clear out any previous drawings
+    // 1) clear out any previous drawings and look up the layout for this window size
     centerPane.getChildren().clear();
     cellPositionMap.clear();
+    geometry = BoardGeometry.forSize(windowSize);
+    calculatedCenterX = geometry.getCenterX();
+    calculatedCenterY = geometry.getCenterY();
+    tileRadius = geometry.getTileRadius();
+    if (canvasRendering) {
+        if (boardCanvas == null || boardCanvas.getWidth() != windowSize)
+            boardCanvas = new BoardCanvas(windowSize, windowSize);
+        boardCanvas.clear();
+        centerPane.getChildren().add(boardCanvas);
+    }
 
     // 2) build and position each player's panel using the new createPlayerPanelUI(...)
     Map<Integer, Pane> panelPanes = new HashMap<>();
@@ -227,6 +366,18 @@ public void drawGameBoard(Board board,
     // 5) draw each player's safe corridor and home corner
     drawSafeZones(board, trackPts, playerPanelInfoMap);
     drawHomeZones(board, playerPanelInfoMap);
+    if (canvasRendering)
+        boardCanvas.paint();
+
+    // The marbles sit on one node per cell, made once and updated from the board's events
+    if (cellLayer == null) {
+        cellLayer = new CellLayer(board);
+        board.addListener(cellLayer);
+    }
+    cellLayer.layout(cellPositionMap, tileRadius * 0.7);
+    centerPane.getChildren().add(cellLayer);
+    hitIndex = new BoardHitIndex(geometry);
+    hitIndex.index(cellPositionMap);
 
     // Calculate card dimensions (consistent with createPlayerPanelUI)
     double cardH_for_decks = CELL_SIZE_FOR_PANELS * 1.5; // Increased height for better visibility
@@ -262,36 +413,17 @@ public void drawGameBoard(Board board,
 }
 
 private Point2D[] drawTrack(List<Cell> trackCells, int totalTrackCells) {
-    // gap you want between circles
-    double spacing = 10;
-    // significantly larger desired tile radius
-    double desiredTileRadius = 20;  // Increased from original value
-
-    // fixed board radius - use a larger radius to accommodate larger tiles
-    double R = ringRadius;
-    // straight-line distance (chord) between two adjacent centers on your ring
-    double chord = 2 * R * Math.sin(Math.PI / totalTrackCells);
-    // the maximum radius that still leaves 'spacing' px between tiles:
-    double maxFittingRadius = (chord - spacing) / 2;
-
-    // pick the smaller of your desired size or the fitting size,
-    // but never let them shrink below a visible minimum (e.g. 5px)
-    double actualTileRadius = Math.max(10, Math.min(desiredTileRadius, maxFittingRadius));
-    
-    // Save this radius for consistent tile sizes across track and safe zones
-    tileRadius = actualTileRadius;
-
     Point2D[] trackPts = new Point2D[totalTrackCells];
     for (int i = 0; i < totalTrackCells; i++) {
-        double angle = 2 * Math.PI * i / totalTrackCells; 
-        double x = calculatedCenterX + R * Math.cos(angle);
-        double y = calculatedCenterY + R * Math.sin(angle);
-
-        Circle tile = new Circle(x, y, actualTileRadius, Color.BEIGE);
-        tile.setStroke(Color.GRAY);
-        centerPane.getChildren().add(tile);
+        trackPts[i] = geometry.getTrackCell(i);
+        if (canvasRendering)
+            boardCanvas.addTile(trackPts[i], tileRadius, Color.BEIGE, Color.GRAY);
+        else {
+            Circle tile = new Circle(trackPts[i].getX(), trackPts[i].getY(), tileRadius, Color.BEIGE);
+            tile.setStroke(Color.GRAY);
+            centerPane.getChildren().add(tile);
+        }
 
-        trackPts[i] = new Point2D(x, y);
         cellPositionMap.put(trackCells.get(i), trackPts[i]);
     }
     return trackPts;
@@ -305,6 +437,11 @@ private void drawLinks(Point2D[] trackPts) {
 
 			Point2D p2 = trackPts[(i + 1) % trackPts.length];
 
+			if (canvasRendering) {
+				boardCanvas.addLine(p1, p2, Color.DARKGRAY);
+				continue;
+			}
+
 			Line link = new Line(p1.getX(), p1.getY(), p2.getX(), p2.getY());
 
 			link.setStroke(Color.DARKGRAY);
@@ -473,10 +610,6 @@ public enum PanelPosition {
  * using consistent tile sizes as the main track
  */
 public void drawSafeZones(Board board, Point2D[] trackPts, Map<Integer, PlayerPanelInfo> playerPanelInfoMap) {
-    final int total = trackPts.length;
-    // Use a consistent spacing between safe zone tiles
-    final double SAFESP = tileRadius * 2.2;
-
     for (Map.Entry<Integer, PlayerPanelInfo> e : playerPanelInfoMap.entrySet()) {
         int panelIdx = e.getKey();
         PlayerPanelInfo info = e.getValue();
@@ -484,36 +617,19 @@ public void drawSafeZones(Board board, Point2D[] trackPts, Map<Integer, PlayerPa
         // 1/2: get shuffled quadrant and map to a compass position
         PanelPosition pos = mapQuadToPosition(quadrantOrder.get(panelIdx));
 
-        // 3: pick the track‐cell index that corresponds to that compass point
-        int baseIdx;
-        switch (pos) {
-        case RIGHT:
-            baseIdx = 0;
-            break;
-        case BOTTOM:
-            baseIdx = total / 4;
-            break;
-        case LEFT:
-            baseIdx = total / 2;
-            break;
-        case TOP:
-            baseIdx = 3 * total / 4;
-            break;
-        default:
-            throw new IllegalStateException();
-        }
-
-        Point2D base = trackPts[baseIdx];
+        // 3: the corridor branches off the track cell at that compass point
+        int side = sideOf(pos);
+        Point2D base = geometry.getBaseCell(side);
 
         // Use colored circle for the base track tile to indicate connection point
         // No more pure black tile in the safe zone
-        Circle baseTile = new Circle(base.getX(), base.getY(), tileRadius);
-        baseTile.setStyle(String.format("-fx-fill: %s99; -fx-stroke: black;", info.cssColor));
-        centerPane.getChildren().add(baseTile);
-
-        // Calculate direction vector pointing inward toward center
-        Point2D dir = new Point2D(calculatedCenterX - base.getX(),
-                calculatedCenterY - base.getY()).normalize();
+        if (canvasRendering)
+            boardCanvas.addTile(base, tileRadius, Color.web(info.cssColor + "99"), Color.BLACK);
+        else {
+            Circle baseTile = new Circle(base.getX(), base.getY(), tileRadius);
+            baseTile.setStyle(String.format("-fx-fill: %s99; -fx-stroke: black;", info.cssColor));
+            centerPane.getChildren().add(baseTile);
+        }
 
         Point2D prev = base;
 
@@ -529,18 +645,24 @@ public void drawSafeZones(Board board, Point2D[] trackPts, Map<Integer, PlayerPa
         int safeTileCount = Math.min(4, optZ.get().getCells().size());
         
         for (int i = 0; i < safeTileCount; i++) {
-            Point2D p = base.add(dir.multiply((i + 1) * SAFESP));
+            Point2D p = geometry.getSafeCell(side, i);
 
-            // Create the safe zone tile with the same radius as track tiles
-            Circle c = new Circle(p.getX(), p.getY(), tileRadius);
-            c.setStyle(String.format("-fx-fill: %s66; -fx-stroke: %s;", info.cssColor, info.cssColor));
-            centerPane.getChildren().add(c);
-
-            // Create the connecting line
-            Line spoke = new Line(prev.getX(), prev.getY(), p.getX(), p.getY());
-            spoke.setStyle(String.format("-fx-stroke: %s99;", info.cssColor));
-            centerPane.getChildren().add(spoke);
-            spoke.toBack();
+            if (canvasRendering) {
+                boardCanvas.addTile(p, tileRadius, Color.web(info.cssColor + "66"), Color.web(info.cssColor));
+                boardCanvas.addLine(prev, p, Color.web(info.cssColor + "99"));
+            }
+            else {
+                // Create the safe zone tile with the same radius as track tiles
+                Circle c = new Circle(p.getX(), p.getY(), tileRadius);
+                c.setStyle(String.format("-fx-fill: %s66; -fx-stroke: %s;", info.cssColor, info.cssColor));
+                centerPane.getChildren().add(c);
+
+                // Create the connecting line
+                Line spoke = new Line(prev.getX(), prev.getY(), p.getX(), p.getY());
+                spoke.setStyle(String.format("-fx-stroke: %s99;", info.cssColor));
+                centerPane.getChildren().add(spoke);
+                spoke.toBack();
+            }
 
             // Only map cells that actually exist in the model
             if (i < optZ.get().getCells().size()) {
@@ -557,9 +679,8 @@ public void drawSafeZones(Board board, Point2D[] trackPts, Map<Integer, PlayerPa
 	 * Tiles (cells) are made larger and marbles (pieces) smaller.
 	 * */
 	public void drawHomeZones(Board board, Map<Integer, PlayerPanelInfo> playerPanelInfoMap) {
-    double homeSize = 80;
-    double margin = 20;
-    Image homeZoneImage = new Image("/images/homezone.png");
+    double homeSize = geometry.getHomeSize();
+    Image homeZoneImage = Textures.getImage("/images/homezone.png");
     double marbleToCellRadiusRatio = 0.4;
 
     for (Map.Entry<Integer, PlayerPanelInfo> e : playerPanelInfoMap.entrySet()) {
@@ -567,45 +688,34 @@ public void drawSafeZones(Board board, Point2D[] trackPts, Map<Integer, PlayerPa
         PlayerPanelInfo info = e.getValue();
 
         PanelPosition pos = mapQuadToPosition(quadrantOrder.get(panelIdx));
-        double x0 = 0, y0 = 0;
-        switch (pos) {
-            case TOP:
-                x0 = margin;
-                y0 = margin;
-                break;
-            case BOTTOM:
-                x0 = windowSize - margin - homeSize;
-                y0 = windowSize - margin - homeSize;
-                break;
-            case LEFT:
-                x0 = margin;
-                y0 = windowSize - margin - homeSize;
-                break;
-            case RIGHT:
-                x0 = windowSize - margin - homeSize;
-                y0 = margin;
-                break;
-        }
+        Point2D corner = geometry.getHomeCorner(sideOf(pos));
+        double x0 = corner.getX(), y0 = corner.getY();
 
-        // background pane
-        Rectangle rect = new Rectangle(x0, y0, homeSize, homeSize);
-        BackgroundImage bgImage = new BackgroundImage(
-            homeZoneImage,
-            BackgroundRepeat.NO_REPEAT,
-            BackgroundRepeat.NO_REPEAT,
-            BackgroundPosition.DEFAULT,
-            new BackgroundSize(homeSize, homeSize, false, false, false, false)
-        );
-        rect.setFill(Color.TRANSPARENT);
-        rect.setStyle(String.format("-fx-stroke: %s;", info.cssColor));
-        rect.setStrokeWidth(2);
-        StackPane homeZonePane = new StackPane();
-        homeZonePane.setBackground(new Background(bgImage));
-        homeZonePane.getChildren().add(rect);
-        homeZonePane.setLayoutX(x0);
-        homeZonePane.setLayoutY(y0);
-        homeZonePane.setPrefSize(homeSize, homeSize);
-        centerPane.getChildren().add(homeZonePane);
+        if (canvasRendering) {
+            boardCanvas.addImage(homeZoneImage, x0, y0, homeSize, homeSize);
+            boardCanvas.addRect(x0, y0, homeSize, homeSize, Color.web(info.cssColor), 2);
+        }
+        else {
+            // background pane
+            Rectangle rect = new Rectangle(x0, y0, homeSize, homeSize);
+            BackgroundImage bgImage = new BackgroundImage(
+                homeZoneImage,
+                BackgroundRepeat.NO_REPEAT,
+                BackgroundRepeat.NO_REPEAT,
+                BackgroundPosition.DEFAULT,
+                new BackgroundSize(homeSize, homeSize, false, false, false, false)
+            );
+            rect.setFill(Color.TRANSPARENT);
+            rect.setStyle(String.format("-fx-stroke: %s;", info.cssColor));
+            rect.setStrokeWidth(2);
+            StackPane homeZonePane = new StackPane();
+            homeZonePane.setBackground(new Background(bgImage));
+            homeZonePane.getChildren().add(rect);
+            homeZonePane.setLayoutX(x0);
+            homeZonePane.setLayoutY(y0);
+            homeZonePane.setPrefSize(homeSize, homeSize);
+            centerPane.getChildren().add(homeZonePane);
+        }
 
         // compute cell size & marble size
         double cellSize = homeSize / 2;
@@ -618,7 +728,7 @@ public void drawSafeZones(Board board, Point2D[] trackPts, Map<Integer, PlayerPa
             case GREEN:  marbleImageName = "/images/greenMarble.png";  break;
             default:     marbleImageName = "/images/greyMarble.png";   break;
         }
-        Image marbleImg = new Image(marbleImageName);
+        Image marbleImg = Textures.getImage(marbleImageName);
 
         // place 2×2
         for (int r = 0; r < 2; r++) {
@@ -626,6 +736,14 @@ public void drawSafeZones(Board board, Point2D[] trackPts, Map<Integer, PlayerPa
                 double cellCenterX = x0 + c * cellSize + cellSize / 2;
                 double cellCenterY = y0 + r * cellSize + cellSize / 2;
 
+                double diameter = pieceRadius * 2;
+                if (canvasRendering) {
+                    boardCanvas.addTile(new Point2D(cellCenterX + pieceRadius * 0.1, cellCenterY + pieceRadius * 0.1),
+                            pieceRadius, Color.web("#00000055"), null);
+                    boardCanvas.addImage(marbleImg, cellCenterX - pieceRadius, cellCenterY - pieceRadius, diameter, diameter);
+                    continue;
+                }
+
                 // optional: keep a subtle shadow behind
                 Circle shadow = new Circle(
                     cellCenterX + pieceRadius * 0.1,
@@ -637,7 +755,6 @@ public void drawSafeZones(Board board, Point2D[] trackPts, Map<Integer, PlayerPa
 
                 // image-based marble
                 ImageView marbleView = new ImageView(marbleImg);
-                double diameter = pieceRadius * 2;
                 marbleView.setFitWidth(diameter);
                 marbleView.setFitHeight(diameter);
                 marbleView.setPreserveRatio(true);
@@ -0,0 +1,181 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import engine.board.Board;
+import engine.board.BoardListener;
+import engine.board.Cell;
+import engine.board.SafeZone;
+import javafx.application.Platform;
+import javafx.geometry.Point2D;
+import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import model.Colour;
+import model.card.Marble;
+
+/**
+ * Shows the marbles on the track and in the safe zones, with one node per cell that
+ * is created once and then only restyled.
+ *
+ * <p>
+ * The layer follows the board through its {@link BoardListener} events instead of
+ * rereading it: every move marks the cells it touches, and the marked cells are
+ * updated together on the next pulse of the FX thread. A turn therefore touches
+ * two or three nodes however many cells the board has, and nothing is cleared or
+ * rebuilt. Events may arrive on any thread; the layer keeps its own copy of who
+ * is on each cell, so it never reads the board while a game thread is changing it.
+ * </p>
+ *
+ * <p>
+ * Traps are followed as well, but only drawn once {@link #setShowTraps(boolean)}
+ * is turned on, since players are not meant to see them.
+ * </p>
+ */
+public class CellLayer extends Group implements BoardListener {
+    private static final Color TRAP_COLOR = Color.RED;
+    private static final Color STROKE_COLOR = Color.BLACK;
+
+    private final Map<Cell, Circle> nodes = new IdentityHashMap<>();
+    private final Map<Cell, Marble> occupants = new IdentityHashMap<>();
+    private final Set<Cell> traps = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Cell> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean flushQueued;
+    private boolean showTraps;
+    private long updates;
+
+    public CellLayer(Board board) {
+        setMouseTransparent(true);
+
+        List<Cell> cells = new ArrayList<>(board.getTrack());
+        for (SafeZone safeZone : board.getSafeZones())
+            cells.addAll(safeZone.getCells());
+
+        for (Cell cell : cells) {
+            if (cell.getMarble() != null)
+                occupants.put(cell, cell.getMarble());
+            if (cell.isTrap())
+                traps.add(cell);
+        }
+    }
+
+    /**
+     * Places a node on every cell in {@code positions}. A cell keeps the node it was
+     * given the first time; later calls only move and resize it.
+     */
+    public void layout(Map<Cell, Point2D> positions, double radius) {
+        for (Map.Entry<Cell, Point2D> entry : positions.entrySet()) {
+            Circle node = nodes.get(entry.getKey());
+            if (node == null) {
+                node = new Circle();
+                node.setStrokeWidth(2);
+                nodes.put(entry.getKey(), node);
+                getChildren().add(node);
+            }
+            node.setCenterX(entry.getValue().getX());
+            node.setCenterY(entry.getValue().getY());
+            node.setRadius(radius);
+        }
+
+        synchronized (this) {
+            dirty.addAll(nodes.keySet());
+        }
+        flush();
+    }
+
+    public void setShowTraps(boolean showTraps) {
+        this.showTraps = showTraps;
+        synchronized (this) {
+            dirty.addAll(traps);
+        }
+        flush();
+    }
+
+    /**
+     * Returns the marble on a cell as this layer last heard, or {@code null} if the
+     * cell is empty. Safe to call while a game thread is moving marbles.
+     */
+    public synchronized Marble getOccupant(Cell cell) {
+        return cell == null ? null : occupants.get(cell);
+    }
+
+    /**
+     * Returns how many cells have been restyled so far.
+     */
+    public long getUpdateCount() {
+        return updates;
+    }
+
+    @Override
+    public synchronized void marbleMoved(Marble marble, Cell from, Cell to) {
+        if (from != null && occupants.get(from) == marble) {
+            occupants.remove(from);
+            mark(from);
+        }
+        if (to != null) {
+            occupants.put(to, marble);
+            mark(to);
+        }
+    }
+
+    @Override
+    public synchronized void trapMoved(Cell from, Cell to) {
+        traps.remove(from);
+        traps.add(to);
+        mark(from);
+        mark(to);
+    }
+
+    private void mark(Cell cell) {
+        dirty.add(cell);
+        if (!flushQueued) {
+            flushQueued = true;
+            Platform.runLater(this::flush);
+        }
+    }
+
+    /**
+     * Restyles the cells that changed since the last flush. Must be called on the FX
+     * thread.
+     */
+    public void flush() {
+        Map<Cell, Marble> changed = new IdentityHashMap<>();
+        Set<Cell> trapped = Collections.newSetFromMap(new IdentityHashMap<>());
+        synchronized (this) {
+            flushQueued = false;
+            for (Cell cell : dirty) {
+                changed.put(cell, occupants.get(cell));
+                if (traps.contains(cell))
+                    trapped.add(cell);
+            }
+            dirty.clear();
+        }
+
+        for (Map.Entry<Cell, Marble> entry : changed.entrySet()) {
+            Circle node = nodes.get(entry.getKey());
+            if (node == null)
+                continue;
+
+            Marble marble = entry.getValue();
+            boolean trap = showTraps && trapped.contains(entry.getKey());
+            node.setFill(marble == null ? Color.TRANSPARENT : colorOf(marble.getColour()));
+            node.setStroke(trap ? TRAP_COLOR : marble == null ? Color.TRANSPARENT : STROKE_COLOR);
+            updates++;
+        }
+    }
+
+    private static Color colorOf(Colour colour) {
+        switch (colour) {
+            case RED:    return Color.RED;
+            case GREEN:  return Color.GREEN;
+            case BLUE:   return Color.BLUE;
+            case YELLOW: return Color.GOLDENROD;
+            default:     return Color.GRAY;
+        }
+    }
+}
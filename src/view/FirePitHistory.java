@@ -0,0 +1,147 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import engine.GameListener;
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import model.Colour;
+import model.card.Card;
+
+/**
+ * A scrollable history of every card played into the fire pit during the session,
+ * oldest first, with a marker wherever the fire pit was shuffled back into the
+ * deck.
+ *
+ * <p>
+ * The history follows the game through its {@link GameListener} events and keeps
+ * only the entries; the {@link ListView} creates just enough cells to fill the
+ * visible rows and reuses them while scrolling, and every cell shows its card
+ * from the shared {@link Textures} atlas. A session of thousands of plays
+ * therefore costs a dozen image views, not thousands. Events may arrive on any
+ * thread and are added on the FX thread in batches.
+ * </p>
+ */
+public class FirePitHistory extends ListView<FirePitHistory.Entry> implements GameListener {
+    private static final double CARD_WIDTH = 30;
+    private static final double CARD_HEIGHT = 40;
+    private static final double ROW_HEIGHT = CARD_HEIGHT + 6;
+
+    private final List<Entry> pending = new ArrayList<>();
+    private boolean followLatest = true;
+
+    public FirePitHistory() {
+        setFixedCellSize(ROW_HEIGHT);
+        setFocusTraversable(false);
+        setCellFactory(list -> new EntryCell());
+    }
+
+    @Override
+    public void cardDiscarded(Colour colour, Card card) {
+        add(new Entry(colour, card));
+    }
+
+    @Override
+    public void handsDealt(boolean firePitCleared) {
+        if (firePitCleared)
+            add(new Entry(null, null));
+    }
+
+    private void add(Entry entry) {
+        boolean first;
+        synchronized (pending) {
+            first = pending.isEmpty();
+            pending.add(entry);
+        }
+        if (first)
+            Platform.runLater(this::flush);
+    }
+
+    private void flush() {
+        List<Entry> entries;
+        synchronized (pending) {
+            entries = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        getItems().addAll(entries);
+        if (followLatest)
+            scrollTo(getItems().size() - 1);
+    }
+
+    /**
+     * Chooses whether the list scrolls to every new play. It does by default.
+     */
+    public void setFollowLatest(boolean followLatest) {
+        this.followLatest = followLatest;
+    }
+
+    /**
+     * One line of the history: a card and who played it, or a refill marker when both
+     * are {@code null}.
+     */
+    public static class Entry {
+        private final Colour colour;
+        private final Card card;
+
+        public Entry(Colour colour, Card card) {
+            this.colour = colour;
+            this.card = card;
+        }
+
+        public Colour getColour() {
+            return colour;
+        }
+
+        public Card getCard() {
+            return card;
+        }
+
+        public boolean isRefill() {
+            return card == null;
+        }
+    }
+
+    /**
+     * A row that keeps its image view and label and only changes what they show.
+     */
+    private static class EntryCell extends ListCell<Entry> {
+        private final ImageView cardView = new ImageView();
+        private final Label label = new Label();
+        private final HBox row = new HBox(6, cardView, label);
+
+        EntryCell() {
+            cardView.setFitWidth(CARD_WIDTH);
+            cardView.setFitHeight(CARD_HEIGHT);
+            row.setAlignment(Pos.CENTER_LEFT);
+        }
+
+        @Override
+        protected void updateItem(Entry entry, boolean empty) {
+            super.updateItem(entry, empty);
+            if (empty || entry == null) {
+                setGraphic(null);
+                return;
+            }
+
+            if (entry.isRefill()) {
+                cardView.setVisible(false);
+                label.setText("— deck refilled —");
+                label.setStyle("-fx-font-style: italic;");
+            }
+            else {
+                cardView.setVisible(true);
+                Textures.showCard(cardView, entry.getCard(), true);
+                label.setText(entry.getColour() + ": " + entry.getCard().getName());
+                label.setStyle("");
+            }
+            setGraphic(row);
+        }
+    }
+}
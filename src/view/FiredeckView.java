@@ -5,27 +5,17 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
 import model.card.Card; // Assuming Card is in model.card
-import model.card.standard.Standard; // Assuming Standard is in model.card.standard
-// Import other card types if specific handling is needed, or rely on getName()
 
 public class FiredeckView extends StackPane {
 
     private ImageView topCardImageView;
     private static final double CARD_WIDTH =70; // Match CardDeckView size
     private static final double CARD_HEIGHT = 140; // Match CardDeckView size
-    private Image cardBackImage;
     private Image emptyTileImage;
 
     public FiredeckView() {
-        // Load card back image
-        try {
-            cardBackImage = new Image(getClass().getResourceAsStream("/images/cards/card_back.png"));
-            emptyTileImage = new Image(getClass().getResourceAsStream("/images/empty_tile.png"));
-        } catch (NullPointerException e) {
-            System.err.println("Error loading images. Make sure card images exist.");
-            cardBackImage = null;
-            emptyTileImage = null;
-        }
+        // Load the empty tile; card faces come from the shared atlas
+        emptyTileImage = Textures.getImage("/images/empty_tile.png");
 
         topCardImageView = new ImageView();
         topCardImageView.setFitWidth(CARD_WIDTH);
@@ -47,53 +37,15 @@ public class FiredeckView extends StackPane {
             return;
         }
 
-        String imagePath = getCardImagePath(topCard);
-        try {
-            Image cardImage = new Image(getClass().getResourceAsStream(imagePath));
-            topCardImageView.setImage(cardImage);
-        } catch (NullPointerException e) {
-            System.err.println("Error loading card image: " + imagePath);
-            // Fallback to card back or a placeholder if specific card image is missing
-            if (cardBackImage != null) {
-                topCardImageView.setImage(cardBackImage);
-            } else {
-                topCardImageView.setImage(null); // Or a placeholder image
-            }
-        }
+        Textures.showCard(topCardImageView, topCard, true);
     }
 
     public void showEmptyState() {
+        topCardImageView.setViewport(null);
         if (emptyTileImage != null) {
             topCardImageView.setImage(emptyTileImage); // Show empty tile when no cards
         } else {
             topCardImageView.setImage(null); // Fallback if image is missing
         }
     }
-
-    private String getCardImagePath(Card card) {
-        String cardName = card.getName().toLowerCase().replace(" ", "_");
-        String rank = "";
-        String suit = "";
-
-        if (card instanceof Standard) {
-            Standard standardCard = (Standard) card;
-            // Assuming rank is int for 2-10, and specific names for face cards
-            // Adjust based on your Standard.getRank() and Standard.getSuit() return types and values
-            int rankValue = standardCard.getRank();
-            switch (rankValue) {
-                case 1: rank = "ace"; break; // Or 1 if your images are named '1_spade.png'
-                case 11: rank = "jack"; break;
-                case 12: rank = "queen"; break;
-                case 13: rank = "king"; break;
-                default: rank = String.valueOf(rankValue); break;
-            }
-            suit = standardCard.getSuit().toString().toLowerCase(); // e.g., "spade", "heart"
-            return String.format("/images/cards/%s_%s.png", rank, suit);
-        } else {
-            // For Wild cards or other special cards, use their name
-            // Assuming getName() returns "Burner", "Saver", etc.
-            return String.format("/images/cards/%s.png", cardName);
-        }
-        // Example: "/images/cards/ace_spade.png", "/images/cards/burner.png"
-    }
 }
\ No newline at end of file
@@ -1,36 +1,35 @@
-package engine;
+package view;
 
+import engine.GameManager;
 import engine.board.Board;
 import engine.board.Cell;
 import engine.board.SafeZone;
 import exception.*;
+import javafx.geometry.Point2D;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import model.Colour;
 import model.card.Card;
 import model.card.Marble;
 import model.player.Player;
-import view.MarbleView;
 import javafx.scene.shape.Circle;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import  static java.lang.Math.PI;
 
 public class GameLogic implements GameManager {
-	private static final double BOARD_CENTER_X = 400;
-	private static final double BOARD_CENTER_Y = 300;
-	private static final double TRACK_RADIUS = 200;
-	private static final double BASE_RADIUS = 250;
-	private static final double SAFE_ZONE_OFFSET = 30;
+	private static final BoardGeometry GEOMETRY = BoardGeometry.forSize(BoardGeometry.REFERENCE_SIZE);
 	private static final double FIREPIT_X = 800;
 	private static final double FIREPIT_Y_START = 100;
-	private static final double RING_RADIUS=300;
-	private static final double SAFE_SPACING_MULTIPLIER=2.2;
 
     private final ArrayList<Player> players;
     private final Board board;
-    private final ArrayList<MarbleView> marbleViews;
+    // Keyed by identity: Marble.equals holds for every marble of a colour
+    private final Map<Marble, MarbleView> marbleViews = new IdentityHashMap<>();
+    private final MarbleAnimator animator = new MarbleAnimator(GEOMETRY.getCenterX(), GEOMETRY.getCenterY());
 
     private int currentPlayerIndex;
     private boolean isStarted;
@@ -38,12 +37,14 @@ public class GameLogic implements GameManager {
     public GameLogic(ArrayList<Player> players, List<Colour> colourOrder, ArrayList<MarbleView> marbleViews) {
         this.players = players;
         this.board = new Board(new ArrayList<>(colourOrder), this);
-        this.marbleViews = marbleViews;
+        for (MarbleView view : marbleViews)
+            this.marbleViews.put(view.getMarble(), view);
         this.currentPlayerIndex = 0;
         this.isStarted = false;
     }
 
     public void startGame() {
+        animator.begin();
         for (Player player : players) {
             for (Marble marble : player.getMarbles()) {
                 try {
@@ -54,6 +55,7 @@ public class GameLogic implements GameManager {
                 }
             }
         }
+        animator.commit();
         isStarted = true;
     }
 
@@ -84,11 +86,18 @@ public class GameLogic implements GameManager {
             throw new InvalidMarbleException("Marble colours do not match active player.");
         }
 
-        card.act(new ArrayList<>(selectedMarbles));
+        // Every move of the turn, including marbles sent home, plays as one animation
+        animator.begin();
+        try {
+            card.act(new ArrayList<>(selectedMarbles));
 
-        // After logic, update visuals
-        for (Marble marble : selectedMarbles) {
-            moveMarbleToCurrentPosition(marble, currentPlayerIndex);
+            // After logic, update visuals
+            for (Marble marble : selectedMarbles) {
+                moveMarbleToCurrentPosition(marble, currentPlayerIndex);
+            }
+        }
+        finally {
+            animator.commit();
         }
 
         nextTurn();
@@ -118,6 +127,10 @@ public class GameLogic implements GameManager {
         return board;
     }
 
+    public MarbleAnimator getAnimator() {
+        return animator;
+    }
+
     // ------------------------------
     // Visual Movement Section
     // ------------------------------
@@ -134,9 +147,9 @@ public class GameLogic implements GameManager {
         );
 
         if (trackIndex != -1) {
-            double angle = 2 * Math.PI * trackIndex / 100;
-            double x = BOARD_CENTER_X + RING_RADIUS * Math.cos(angle);
-            double y = BOARD_CENTER_Y + RING_RADIUS * Math.sin(angle);
+            Point2D p = GEOMETRY.getTrackCell(trackIndex);
+            double x = p.getX();
+            double y = p.getY();
 
             y += stackIndex * 10; // Apply vertical stack offset
             animateMove(view, x, y);
@@ -148,16 +161,10 @@ public class GameLogic implements GameManager {
             ArrayList<Cell> cells = safeZone.getCells();
             for (int i = 0; i < cells.size(); i++) {
                 if (cells.get(i).getMarble() == marble) {
-                    double angle=getBaseAngle(marble.getColour());
-					try {
-						angle = getBaseAngle(safeZone.getColour());
-					} catch (InvalidCardException e) {
-						// TODO Auto-generated catch block
-						e.printStackTrace();
-					}
-                    double spacing = i * SAFE_SPACING_MULTIPLIER * 15;
-                    double x = BOARD_CENTER_X + (RING_RADIUS - spacing) * Math.cos(angle);
-                    double y = BOARD_CENTER_Y + (RING_RADIUS - spacing) * Math.sin(angle);
+                    int side = getBaseSide(safeZone.getColour());
+                    Point2D p = GEOMETRY.getSafeCell(side, Math.min(i, BoardGeometry.SAFE_CELLS - 1));
+                    double x = p.getX();
+                    double y = p.getY();
 
                     y += stackIndex * 10; // Apply vertical stack offset
                     animateMove(view, x, y);
@@ -173,15 +180,9 @@ public class GameLogic implements GameManager {
         MarbleView view = findViewByMarble(marble);
         if (view == null) return;
 
-        double angle=getBaseAngle(marble.getColour());
-		try {
-			angle = getBaseAngle(marble.getColour());
-		} catch (InvalidCardException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-        double x = BOARD_CENTER_X + BASE_RADIUS * Math.cos(angle);
-        double y = BOARD_CENTER_Y + BASE_RADIUS * Math.sin(angle);
+        Point2D p = GEOMETRY.getHomeCenter(getBaseSide(marble.getColour()));
+        double x = p.getX();
+        double y = p.getY();
 
         // Apply vertical stack offset
         y += stackIndex * 10;
@@ -199,28 +200,15 @@ public class GameLogic implements GameManager {
     }
 
     private void animateMove(MarbleView view, double x, double y) {
-        javafx.animation.TranslateTransition tt = new javafx.animation.TranslateTransition(javafx.util.Duration.millis(300), view);
-        double dx = x - view.getCenterX();
-        double dy = y - view.getCenterY();
-
-        tt.setToX(dx);
-        tt.setToY(dy);
-        tt.setOnFinished(e -> {
-            view.setPosition(x, y); // snap final position
-            view.setTranslateX(0);
-            view.setTranslateY(0);
-        });
-        tt.play();
+        animator.moveTo(view, x, y);
     }
     @SuppressWarnings("unused")
 	private void markTrapCells(final Pane boardPane) {
         for (int i = 0; i < board.getTrack().size(); i++) {
             if (board.getTrack().get(i).isTrap()) {
-                double angle = 2 * Math.PI * i / 100;
-                double x = BOARD_CENTER_X + TRACK_RADIUS * Math.cos(angle);
-                double y = BOARD_CENTER_Y + TRACK_RADIUS * Math.sin(angle);
+                Point2D p = GEOMETRY.getTrackCell(i);
 
-                javafx.scene.shape.Circle trapMarker = new javafx.scene.shape.Circle(x, y, 20);
+                javafx.scene.shape.Circle trapMarker = new javafx.scene.shape.Circle(p.getX(), p.getY(), GEOMETRY.getTileRadius());
                 trapMarker.setStroke(Color.RED);
                 trapMarker.setStrokeWidth(2);
                 trapMarker.setFill(Color.TRANSPARENT);
@@ -228,23 +216,18 @@ public class GameLogic implements GameManager {
             }
         }
     }
-    private double getBaseAngle(Colour colour) throws InvalidCardException {
+    private int getBaseSide(Colour colour) throws InvalidCardException {
          switch (colour) {
-            case RED: return 0.0;
-            case BLUE: return Math.PI / 2;
-            case GREEN : return Math.PI;
-            case YELLOW: return 3 * Math.PI / 2;
+            case RED: return BoardGeometry.RIGHT;
+            case BLUE: return BoardGeometry.BOTTOM;
+            case GREEN : return BoardGeometry.LEFT;
+            case YELLOW: return BoardGeometry.TOP;
             default:throw  new InvalidCardException("Unsupported colour"+ colour);
              }
         
     }
     private MarbleView findViewByMarble(Marble marble) {
-        for (MarbleView view : marbleViews) {
-            if (view.getMarble().equals(marble)) {
-                return view;
-            }
-        }
-        return null;
+        return marbleViews.get(marble);
     }
 
 	@Override
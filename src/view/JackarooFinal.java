@@ -2,19 +2,24 @@ package view;
 
 import java.awt.Toolkit;
 import java.io.IOException;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import engine.Game;
 import engine.GameManager;
+import engine.ai.HintService;
+import engine.ai.LegalMoves;
+import engine.ai.SelfPlay;
 import engine.board.Board;
 import engine.board.Cell;
 import engine.board.SafeZone;
@@ -35,6 +40,8 @@ import javafx.scene.control.Label;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Background;
@@ -55,15 +62,11 @@ import javafx.scene.shape.Line;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
-import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import model.Colour;
 import model.card.Card;
 import model.card.Deck;
 import model.card.Marble;
-import model.card.standard.Standard;
-import model.card.wild.Burner;
-import model.card.wild.Saver;
 import model.player.CPU;
 import model.player.Player;
 import view.WinnerViewController;
@@ -78,7 +81,6 @@ import view.WinnerViewController;
 public class JackarooFinal extends BorderPane {
 
     // Constants
-    private static final String CARD_DIR = "file:/Users/youssef/Code/jackaroo/resources/images/cards/";
     private static final String BG_MUSIC_PATH = "/audio/bgmusic.mp3";
     private static final String DECK_IMAGE_PATH = "/images/deck_back.png";
     private static final double CARD_WIDTH = 71;
@@ -88,6 +90,7 @@ public class JackarooFinal extends BorderPane {
     private static final int DRAW_SIZE = 4;
     private static final double DEFAULT_WINDOW_SIZE = 800;
     private static final double CELL_SIZE_FOR_PANELS = 60;
+    private static final double ICON_SIZE = CELL_SIZE_FOR_PANELS * 1.5;
 
     // Game state references
     private final Game game;
@@ -107,11 +110,10 @@ public class JackarooFinal extends BorderPane {
     private final Map<Cell, Point2D> cellPositionMap = new HashMap<>();
     private final List<Integer> quadrantOrder;
     private double windowSize = DEFAULT_WINDOW_SIZE;
-    private double ringRadius = 300;
     private double tileRadius = 20;
+    private BoardGeometry geometry;
     private double calculatedCenterX;
     private double calculatedCenterY;
-    private double verticalShift = -80;
 
     // Player panel components
     private final String[] defaultNames = { "Mr.Red", "Mr.Green", "Mr.Blue", "Mr.Yellow" };
@@ -127,6 +129,7 @@ public class JackarooFinal extends BorderPane {
 
     // Firedeck components
     private FiredeckView firedeckView;
+    private final FirePitHistory firePitHistory;
     
     // Background music
     private MediaPlayer mediaPlayer;
@@ -136,6 +139,23 @@ public class JackarooFinal extends BorderPane {
     private Label nextPlayerLabel;
     private HBox turnIndicatorBox;
 
+    // Move hints for the human player
+    private final HintService hintService;
+    private final MoveHighlighter moveHighlighter;
+    private Card hintedCard;
+
+    // Performance figures, toggled with F3
+    private final PerfOverlay perfOverlay;
+
+    // The marbles on the board, kept across redraws
+    private CellLayer cellLayer;
+
+    // Resolves board clicks to cells, so the tiles need no handlers of their own
+    private BoardHitIndex hitIndex;
+
+    // Plays CPU stretches at full speed, toggled with T
+    private final TurboMode turboMode;
+
     /**
      * Creates a new JackarooFinal UI component that includes the game board, player
      * panels, and deck.
@@ -158,10 +178,6 @@ public class JackarooFinal extends BorderPane {
         setCenter(centerPane);
         setPadding(new Insets(0, 0, 20, 0));
 
-        // Calculate center points for board
-        calculatedCenterX = windowSize / 2;
-        calculatedCenterY = windowSize / 2 + verticalShift;
-
         // Initialize quadrant order and shuffle it
         quadrantOrder = new ArrayList<>(Arrays.asList(0, 1, 2, 3));
         Collections.shuffle(quadrantOrder);
@@ -177,8 +193,11 @@ public class JackarooFinal extends BorderPane {
         // Create player panels
         Map<Integer, PlayerPanelInfo> playerPanelConfig = createPlayerPanelConfigurations(humanPlayerName);
 
-        // Initialize firedeck view
+        // Initialize firedeck view and the history of every card played
         firedeckView = new FiredeckView();
+        firePitHistory = new FirePitHistory();
+        firePitHistory.setPrefSize(180, 220);
+        game.addListener(firePitHistory);
         
         // Initialize turn indicator components
         currentPlayerLabel = new Label();
@@ -204,7 +223,7 @@ public class JackarooFinal extends BorderPane {
         deckPane.setEffect(baseShadow);
 
         // Load deck image
-        Image deckImage = new Image(getClass().getResourceAsStream(DECK_IMAGE_PATH));
+        Image deckImage = Textures.getImage(DECK_IMAGE_PATH);
         deckBackView = new ImageView(deckImage);
         deckBackView.setFitWidth(DECK_WIDTH);
         deckBackView.setFitHeight(DECK_HEIGHT);
@@ -225,6 +244,9 @@ public class JackarooFinal extends BorderPane {
         // Setup deck click handler
         deckPane.setOnMouseClicked(this::handleDeckClick);
 
+        // One handler for every marble and cell on the board
+        centerPane.addEventHandler(MouseEvent.MOUSE_CLICKED, this::handleBoardClick);
+
         // Create cards container for human player's hand
         cardsContainer = new HBox(10);
         cardsContainer.setAlignment(Pos.CENTER);
@@ -238,6 +260,27 @@ public class JackarooFinal extends BorderPane {
 
         // Draw the game board with all components
         drawGameBoard(game.getBoard(), playerPanelConfig, playerMap);
+
+        // Start working out the human player's legal moves in the background
+        hintService = new HintService(game);
+        hintService.startTurn();
+        moveHighlighter = new MoveHighlighter(centerPane, cellPositionMap);
+        moveHighlighter.setRadius(tileRadius);
+
+        // Add the performance overlay on top of the board and toggle it with F3
+        perfOverlay = new PerfOverlay(game::getLastCpuDecisionNanos);
+        centerPane.getChildren().add(perfOverlay);
+        sceneProperty().addListener((obs, oldScene, scene) -> {
+            if (scene != null) {
+                scene.addEventFilter(KeyEvent.KEY_PRESSED, this::handlePerfOverlayKey);
+                scene.addEventFilter(KeyEvent.KEY_PRESSED, this::handleTurboKey);
+                scene.addEventFilter(KeyEvent.KEY_PRESSED, this::handlePlayKey);
+            }
+        });
+
+        // Play CPU turns in the background, one frame per turn, or at full speed in turbo mode
+        turboMode = new TurboMode(game, this::afterCpuTurns);
+        turboMode.setEnabled(Boolean.getBoolean("jackaroo.turbo"));
         
         // Initialize background music
         initializeBackgroundMusic();
@@ -249,24 +292,19 @@ public class JackarooFinal extends BorderPane {
     }
 
     /**
-     * Initializes and plays background music.
+     * Starts the background music once the board has been drawn. The music is opened
+     * in the background, so it never delays the first frame.
      */
     private void initializeBackgroundMusic() {
-        try {
-            URL musicUrl = getClass().getResource(BG_MUSIC_PATH);
-            if (musicUrl == null) {
-                throw new IOException("Audio file not found at: " + BG_MUSIC_PATH);
+        Assets.playMusic(BG_MUSIC_PATH, 0.3).whenComplete((player, e) -> {
+            if (e == null) {
+                mediaPlayer = player;
+                return;
             }
-            Media sound = new Media(musicUrl.toExternalForm());
-            mediaPlayer = new MediaPlayer(sound);
-            mediaPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-            mediaPlayer.setVolume(0.3);
-            mediaPlayer.play();
-        } catch (Exception e) {
             System.err.println("Error loading background music: " + e.getMessage());
             // Fallback to system beep if audio fails
             Toolkit.getDefaultToolkit().beep();
-        }
+        });
     }
 
     /**
@@ -280,11 +318,148 @@ public class JackarooFinal extends BorderPane {
             Platform.runLater(updater);
     }
 
+    /**
+     * Shows or hides the performance overlay when F3 is pressed.
+     */
+    private void handlePerfOverlayKey(KeyEvent event) {
+        if (event.getCode() == KeyCode.F3) {
+            perfOverlay.toggle();
+            event.consume();
+        }
+    }
+
+    /**
+     * Turns turbo mode on or off when T is pressed. CPU turns already being played
+     * speed up or slow down from the next turn.
+     */
+    private void handleTurboKey(KeyEvent event) {
+        if (event.getCode() == KeyCode.T) {
+            turboMode.setEnabled(!turboMode.isEnabled());
+            event.consume();
+        }
+    }
+
+    /**
+     * Plays the human player's selection and ends the turn when Enter is pressed.
+     */
+    private void handlePlayKey(KeyEvent event) {
+        if (event.getCode() == KeyCode.ENTER) {
+            playHumanTurn();
+            event.consume();
+        }
+    }
+
+    /**
+     * Plays the human player's selection, ends the turn and hands the board to the
+     * CPU players, whose turns {@link TurboMode} plays in the background, one frame
+     * per turn or at full speed in turbo mode. A selection the rules reject keeps the
+     * turn with the human player.
+     */
+    private void playHumanTurn() {
+        if (isInputLocked() || game.checkWin() != null || SelfPlay.isCpuToMove(game))
+            return;
+
+        Card played = humanPlayer.getSelectedCard();
+        if (game.canPlayTurn()) {
+            try {
+                game.playPlayerTurn();
+            } catch (GameException ex) {
+                showUserError(ex.getMessage());
+                return;
+            }
+        }
+        game.endPlayerTurn();
+        moveHighlighter.clear();
+        syncHand(played);
+
+        if (turboMode.playCpuTurns())
+            setInputLocked(true);
+        else
+            afterCpuTurns();
+    }
+
+    /**
+     * Returns whether the human player's input is ignored, which it is while CPU
+     * turns are played on their own thread.
+     */
+    private boolean isInputLocked() {
+        return turboMode.isRunning();
+    }
+
+    private void setInputLocked(boolean locked) {
+        cardsContainer.setDisable(locked);
+        deckPane.setDisable(locked);
+        if (locked)
+            moveHighlighter.clear();
+    }
+
+    /**
+     * Drops the pane of the card just played and adds panes for the cards dealt to
+     * the human player since the hand was last shown.
+     */
+    private void syncHand(Card played) {
+        if (played != null)
+            cardsContainer.getChildren().removeIf(node -> node instanceof CardPane && ((CardPane) node).card == played);
+
+        Set<Card> shown = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Node node : cardsContainer.getChildren()) {
+            if (node instanceof CardPane)
+                shown.add(((CardPane) node).card);
+        }
+
+        List<Card> dealt = new ArrayList<>();
+        for (Card card : humanPlayer.getHand()) {
+            if (card != null && !shown.contains(card))
+                dealt.add(card);
+        }
+        addCardsToHand(dealt);
+    }
+
+    /**
+     * Brings the turn indicators and the fire pit up to date while CPU turns are
+     * played, and hands the board back to the human player once they stop.
+     */
+    private void afterCpuTurns() {
+        updateTurnIndicators();
+        updateFiredeckView();
+        updateDeckCount();
+        if (turboMode.isRunning())
+            return;
+
+        setInputLocked(false);
+        syncHand(null);
+
+        Colour winner = game.checkWin();
+        if (winner != null)
+            showWinnerDialog(winner);
+        else
+            hintService.startTurn();
+    }
+
+    /**
+     * Selects the marble on the clicked cell for the human player's next play.
+     */
+    private void handleBoardClick(MouseEvent event) {
+        if (event.getButton() != MouseButton.PRIMARY || hitIndex == null || isInputLocked())
+            return;
+
+        Marble marble = cellLayer.getOccupant(hitIndex.cellAt(event.getX(), event.getY()));
+        if (marble == null)
+            return;
+
+        try {
+            humanPlayer.selectMarble(marble);
+            event.consume();
+        } catch (GameException ex) {
+            showUserError(ex.getMessage());
+        }
+    }
+
     /**
      * Handles clicks on the deck - draws cards and adds them to the player's hand.
      */
     private void handleDeckClick(MouseEvent event) {
-        if (event.getButton() != MouseButton.PRIMARY)
+        if (event.getButton() != MouseButton.PRIMARY || isInputLocked())
             return;
 
         if (Deck.getPoolSize() < DRAW_SIZE) {
@@ -296,6 +471,7 @@ public class JackarooFinal extends BorderPane {
             List<Card> drawnCards = Deck.drawCards();
             addCardsToHand(drawnCards);
             updateDeckCount();
+            hintService.startTurn();
             
             // Update turn indicators after drawing cards
             updateTurnIndicators();
@@ -376,6 +552,37 @@ public class JackarooFinal extends BorderPane {
         updateDeckCount();
     }
 
+    /**
+     * Highlights the marbles and cells the given card can be played on, or clears
+     * the highlights if {@code card} is null.
+     */
+    /**
+     * Highlights the moves of a card, or clears the highlights for {@code null}. Hints
+     * that are still being worked out are shown once they are ready, unless another
+     * card was hovered or the board changed meanwhile; the FX thread never waits for
+     * them.
+     */
+    private void showHints(Card card) {
+        hintedCard = card;
+        if (card == null || isInputLocked()) {
+            moveHighlighter.clear();
+            return;
+        }
+
+        CompletableFuture<LegalMoves> hint = hintService.requestHints(card);
+        if (hint.isDone() && !hint.isCompletedExceptionally()) {
+            moveHighlighter.show(game.getBoard(), hint.join());
+            return;
+        }
+
+        moveHighlighter.clear();
+        long stateHash = game.getBoard().getStateHash();
+        hint.thenAccept(moves -> Platform.runLater(() -> {
+            if (hintedCard == card && !isInputLocked() && game.getBoard().getStateHash() == stateHash)
+                moveHighlighter.show(game.getBoard(), moves);
+        }));
+    }
+
     /**
      * Displays an error message to the user.
      */
@@ -391,7 +598,7 @@ public class JackarooFinal extends BorderPane {
         playerIcons = new Image[iconPaths.length];
         for (int i = 0; i < iconPaths.length; i++) {
             try {
-                playerIcons[i] = new Image(getClass().getResourceAsStream(iconPaths[i]));
+                playerIcons[i] = Assets.getImage(iconPaths[i], ICON_SIZE, ICON_SIZE);
             } catch (Exception e) {
                 System.err.println("Failed to load icon: " + iconPaths[i]);
             }
@@ -443,8 +650,8 @@ public class JackarooFinal extends BorderPane {
      */
     private void showWinnerDialog(Colour winner) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/WinnerView.fxml"));
-            Parent root = loader.load();
+            FXMLLoader loader = Assets.loadFxml(WinnerViewController.FXML);
+            Parent root = loader.getRoot();
             WinnerViewController ctrl = loader.getController();
             ctrl.setWinner(winner);
 
@@ -465,9 +672,13 @@ public class JackarooFinal extends BorderPane {
      */
     private void drawGameBoard(Board board, Map<Integer, PlayerPanelInfo> playerPanelInfoMap,
             Map<Integer, Player> playerMap) {
-        // 1) Clear out any previous drawings
+        // 1) Clear out any previous drawings and look up the layout for this window size
         centerPane.getChildren().clear();
         cellPositionMap.clear();
+        geometry = BoardGeometry.forSize(windowSize);
+        calculatedCenterX = geometry.getCenterX();
+        calculatedCenterY = geometry.getCenterY();
+        tileRadius = geometry.getTileRadius();
 
         // 2) Build and position each player's panel
         Map<Integer, Pane> panelPanes = new HashMap<>();
@@ -503,6 +714,16 @@ public class JackarooFinal extends BorderPane {
         drawSafeZones(board, trackPts, playerPanelInfoMap);
         drawHomeZones(board, playerPanelInfoMap);
 
+        // The marbles sit on one node per cell, made once and updated from the board's events
+        if (cellLayer == null) {
+            cellLayer = new CellLayer(board);
+            board.addListener(cellLayer);
+        }
+        cellLayer.layout(cellPositionMap, tileRadius * 0.7);
+        centerPane.getChildren().add(cellLayer);
+        hitIndex = new BoardHitIndex(geometry);
+        hitIndex.index(cellPositionMap);
+
         // Calculate card dimensions
         double cardH_for_decks = CELL_SIZE_FOR_PANELS * 1.5;
         double cardW_for_decks = cardH_for_decks * (2.5 / 3.5);
@@ -544,6 +765,7 @@ public class JackarooFinal extends BorderPane {
         turnIndicatorContainer.setPadding(new Insets(10));
         turnIndicatorContainer.getChildren().add(turnIndicatorBox);
         leftSideContainer.getChildren().add(turnIndicatorContainer);
+        leftSideContainer.getChildren().add(firePitHistory);
         
         // Track if we've found the left panel
         Pane leftPanel = null;
@@ -575,6 +797,24 @@ public class JackarooFinal extends BorderPane {
         setLeft(leftSideContainer);
     }
 
+    /**
+     * Returns the side of the board geometry a panel position sits on.
+     */
+    private static int sideOf(PanelPosition pos) {
+        switch (pos) {
+            case RIGHT:
+                return BoardGeometry.RIGHT;
+            case BOTTOM:
+                return BoardGeometry.BOTTOM;
+            case LEFT:
+                return BoardGeometry.LEFT;
+            case TOP:
+                return BoardGeometry.TOP;
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
     /**
      * Map shuffled quadrant index (0-3) to a PanelPosition enum.
      */
@@ -618,38 +858,17 @@ public class JackarooFinal extends BorderPane {
     }
 
     /**
-     * Draws the main circular track with automatic tile-sizing.
+     * Draws the main circular track at the positions of the board geometry.
      */
     private Point2D[] drawTrack(List<Cell> trackCells, int totalTrackCells) {
-        // Gap between circles
-        double spacing = 10;
-        // Desired tile radius
-        double desiredTileRadius = 20;
-
-        // Fixed board radius
-        double R = ringRadius;
-        // Straight-line distance (chord) between two adjacent centers on the ring
-        double chord = 2 * R * Math.sin(Math.PI / totalTrackCells);
-        // The maximum radius that still leaves 'spacing' px between tiles
-        double maxFittingRadius = (chord - spacing) / 2;
-
-        // Pick the smaller of desired size or fitting size, but never below a minimum
-        double actualTileRadius = Math.max(10, Math.min(desiredTileRadius, maxFittingRadius));
-
-        // Save this radius for consistent tile sizes across track and safe zones
-        tileRadius = actualTileRadius;
-
         Point2D[] trackPts = new Point2D[totalTrackCells];
         for (int i = 0; i < totalTrackCells; i++) {
-            double angle = 2 * Math.PI * i / totalTrackCells;
-            double x = calculatedCenterX + R * Math.cos(angle);
-            double y = calculatedCenterY + R * Math.sin(angle);
+            trackPts[i] = geometry.getTrackCell(i);
 
-            Circle tile = new Circle(x, y, actualTileRadius, Color.BEIGE);
+            Circle tile = new Circle(trackPts[i].getX(), trackPts[i].getY(), tileRadius, Color.BEIGE);
             tile.setStroke(Color.GRAY);
             centerPane.getChildren().add(tile);
 
-            trackPts[i] = new Point2D(x, y);
             cellPositionMap.put(trackCells.get(i), trackPts[i]);
         }
         return trackPts;
@@ -674,10 +893,6 @@ public class JackarooFinal extends BorderPane {
      * Draws each player's safe zone with exactly 4 tiles per safe zone.
      */
     private void drawSafeZones(Board board, Point2D[] trackPts, Map<Integer, PlayerPanelInfo> playerPanelInfoMap) {
-        final int total = trackPts.length;
-        // Use a consistent spacing between safe zone tiles
-        final double SAFESP = tileRadius * 2.2;
-
         for (Map.Entry<Integer, PlayerPanelInfo> e : playerPanelInfoMap.entrySet()) {
             int panelIdx = e.getKey();
             PlayerPanelInfo info = e.getValue();
@@ -685,36 +900,15 @@ public class JackarooFinal extends BorderPane {
             // Get shuffled quadrant and map to a compass position
             PanelPosition pos = mapQuadToPosition(quadrantOrder.get(panelIdx));
 
-            // Pick the track-cell index that corresponds to that compass point
-            int baseIdx;
-            switch (pos) {
-                case RIGHT:
-                    baseIdx = 0;
-                    break;
-                case BOTTOM:
-                    baseIdx = total / 4;
-                    break;
-                case LEFT:
-                    baseIdx = total / 2;
-                    break;
-                case TOP:
-                    baseIdx = 3 * total / 4;
-                    break;
-                default:
-                    throw new IllegalStateException();
-            }
-
-            Point2D base = trackPts[baseIdx];
+            // The corridor branches off the track cell at that compass point
+            int side = sideOf(pos);
+            Point2D base = geometry.getBaseCell(side);
 
             // Use colored circle for the base track tile to indicate connection point
             Circle baseTile = new Circle(base.getX(), base.getY(), tileRadius);
             baseTile.setStyle(String.format("-fx-fill: %s99; -fx-stroke: black;", info.cssColor));
             centerPane.getChildren().add(baseTile);
 
-            // Calculate direction vector pointing inward toward center
-            Point2D dir = new Point2D(calculatedCenterX - base.getX(),
-                    calculatedCenterY - base.getY()).normalize();
-
             Point2D prev = base;
 
             Optional<SafeZone> optZ = board.getSafeZones().stream()
@@ -729,7 +923,7 @@ public class JackarooFinal extends BorderPane {
             int safeTileCount = Math.min(4, optZ.get().getCells().size());
 
             for (int i = 0; i < safeTileCount; i++) {
-                Point2D p = base.add(dir.multiply((i + 1) * SAFESP));
+                Point2D p = geometry.getSafeCell(side, i);
 
                 // Create the safe zone tile with the same radius as track tiles
                 Circle c = new Circle(p.getX(), p.getY(), tileRadius);
@@ -756,9 +950,8 @@ public class JackarooFinal extends BorderPane {
      * Draws each player's 2×2 home square in the corner next to their panel.
      */
     private void drawHomeZones(Board board, Map<Integer, PlayerPanelInfo> playerPanelInfoMap) {
-        double homeSize = 80;
-        double margin = 20;
-        Image homeZoneImage = new Image(getClass().getResourceAsStream("/images/homezone.png"));
+        double homeSize = geometry.getHomeSize();
+        Image homeZoneImage = Textures.getImage("/images/homezone.png");
         double marbleToCellRadiusRatio = 0.4;
 
         for (Map.Entry<Integer, PlayerPanelInfo> e : playerPanelInfoMap.entrySet()) {
@@ -766,25 +959,8 @@ public class JackarooFinal extends BorderPane {
             PlayerPanelInfo info = e.getValue();
 
             PanelPosition pos = mapQuadToPosition(quadrantOrder.get(panelIdx));
-            double x0 = 0, y0 = 0;
-            switch (pos) {
-                case TOP:
-                    x0 = margin;
-                    y0 = margin;
-                    break;
-                case BOTTOM:
-                    x0 = windowSize - margin - homeSize;
-                    y0 = windowSize - margin - homeSize;
-                    break;
-                case LEFT:
-                    x0 = margin;
-                    y0 = windowSize - margin - homeSize;
-                    break;
-                case RIGHT:
-                    x0 = windowSize - margin - homeSize;
-                    y0 = margin;
-                    break;
-            }
+            Point2D corner = geometry.getHomeCorner(sideOf(pos));
+            double x0 = corner.getX(), y0 = corner.getY();
 
             // Background pane
             Rectangle rect = new Rectangle(x0, y0, homeSize, homeSize);
@@ -826,7 +1002,7 @@ public class JackarooFinal extends BorderPane {
                     marbleImageName = "/images/greyMarble.png";
                     break;
             }
-            Image marbleImg = new Image(getClass().getResourceAsStream(marbleImageName));
+            Image marbleImg = Textures.getImage(marbleImageName);
 
             // Place 2×2 marbles
             for (int r = 0; r < 2; r++) {
@@ -864,7 +1040,7 @@ public class JackarooFinal extends BorderPane {
             Player player) {
         // 1) Icon
         ImageView iv = new ImageView(icon);
-        double iconSize = CELL_SIZE_FOR_PANELS * 1.5;
+        double iconSize = ICON_SIZE;
         iv.setFitWidth(iconSize);
         iv.setFitHeight(iconSize);
         iv.setPreserveRatio(true);
@@ -998,6 +1174,12 @@ public class JackarooFinal extends BorderPane {
             addEventHandler(MouseEvent.MOUSE_ENTERED, e -> setCursor(Cursor.HAND));
             addEventHandler(MouseEvent.MOUSE_EXITED, e -> setCursor(Cursor.DEFAULT));
 
+            // Preview the card's moves while hovering; hints are cached for the turn
+            if (owner == humanPlayer) {
+                addEventHandler(MouseEvent.MOUSE_ENTERED, e -> showHints(card));
+                addEventHandler(MouseEvent.MOUSE_EXITED, e -> showHints(owner.getSelectedCard()));
+            }
+
             // Click handler
             setOnMouseClicked(this::handleCardClick);
         }
@@ -1006,12 +1188,14 @@ public class JackarooFinal extends BorderPane {
          * Handles clicks on a card - selects it for the player.
          */
         private void handleCardClick(MouseEvent event) {
-            if (event.getButton() != MouseButton.PRIMARY)
+            if (event.getButton() != MouseButton.PRIMARY || isInputLocked())
                 return;
 
             // Toggle selection state
             if (getEffect() == selectionGlow) {
                 setEffect(baseShadow);  // Deselect if already selected
+                owner.deselectAll();
+                showHints(null);
             } else {
                 try {
                     // Deselect any previously selected card
@@ -1022,6 +1206,7 @@ public class JackarooFinal extends BorderPane {
                     });
                     owner.selectCard(card);
                     highlight(true);
+                    showHints(card);
                     // Refresh the firedeck view
                     updateFiredeckView();
                     // Update turn indicators after playing a card
@@ -1076,52 +1261,7 @@ public class JackarooFinal extends BorderPane {
          * Redraws the card based on current card property and face-up state.
          */
         private void refresh() {
-            Card c = cardProperty.get();
-
-            // Face-down or no card: show back
-            if (c == null || !faceUp) {
-                cardImageView.setImage(
-                        new Image(CARD_DIR + "card_back.png", CARD_WIDTH, CARD_HEIGHT, true, true));
-                return;
-            }
-
-            // Face-up + Standard card: map to tile###
-            if (c instanceof Standard) {
-                Standard std = (Standard) c;
-                int rank = std.getRank(); // 1..13
-                int base;
-                switch (std.getSuit()) {
-                    case HEART:
-                        base = 0;
-                        break; // tile000–012
-                    case CLUB:
-                        base = 13;
-                        break; // tile013–025
-                    case DIAMOND:
-                        base = 26;
-                        break; // tile026–038
-                    case SPADE:
-                        base = 39;
-                        break; // tile039–051
-                    default:
-                        base = 0;
-                        break;
-                }
-                int idx = base + (rank - 1);
-                String filename = String.format("tile%03d.png", idx);
-                cardImageView.setImage(
-                        new Image(CARD_DIR + filename, CARD_WIDTH, CARD_HEIGHT, true, true));
-            } else if (c instanceof Burner) {
-                cardImageView.setImage(
-                        new Image(CARD_DIR + "tile052.png", CARD_WIDTH, CARD_HEIGHT, true, true));
-            } else if (c instanceof Saver) {
-                cardImageView.setImage(
-                        new Image(CARD_DIR + "tile053.png", CARD_WIDTH, CARD_HEIGHT, true, true));
-            } else {
-                // Non-standard wild: fallback to back
-                cardImageView.setImage(
-                        new Image(CARD_DIR + "card_back.png", CARD_WIDTH, CARD_HEIGHT, true, true));
-            }
+            Textures.showCard(cardImageView, cardProperty.get(), faceUp);
         }
     }
 }
\ No newline at end of file
@@ -14,6 +14,8 @@ public class Main extends Application {
 
     @Override
     public void start(Stage primaryStage) {
+        StartupProfile.mark("JavaFX started");
+
         StartMenu startMenu = new StartMenu(primaryStage);
         startMenu.show(playerName -> {
             try {
@@ -29,17 +31,31 @@ public class Main extends Application {
                 ExceptionPopup.showException(e);
             }
         });
+        StartupProfile.mark("start menu built");
+
+        // once the menu is on screen, get the rest ready while the player types their name
+        Assets.afterFirstFrame(() -> {
+            StartupProfile.mark("start menu shown");
+            Textures.preload();
+            Assets.preloadFxml(WinnerViewController.FXML);
+
+            // used by the AppCDS training run, which only needs the classes of a cold start
+            if (Boolean.getBoolean("jackaroo.startup.exit"))
+                Platform.exit();
+        });
     }
 
     private void buildGameUI(Stage stage, String playerName) throws IOException {
         // instantiate the JackarooFinal class instead of controller
         JackarooFinal jackarooGame = new JackarooFinal(playerName);
+        StartupProfile.mark("game built");
 
         // use the JackarooFinal instance directly as the root pane
         Scene scene = new Scene(jackarooGame);
         stage.setScene(scene);
         stage.setTitle("Jackaroo — Welcome, " + playerName);
         stage.show();
+        Assets.afterFirstFrame(() -> StartupProfile.mark("game shown"));
     }
 
     public static void main(String[] args) {
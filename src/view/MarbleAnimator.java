@@ -0,0 +1,181 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.animation.Interpolator;
+import javafx.animation.Transition;
+import javafx.util.Duration;
+
+/**
+ * Plays the marble moves of a turn as one animation.
+ *
+ * <p>
+ * Moves requested between {@link #begin()} and {@link #commit()} are collected
+ * and then driven together by a single {@link Transition}, so a King that destroys
+ * its way along the track or a split Seven costs one animation however many
+ * marbles it moves. A move outside a batch plays on its own.
+ * </p>
+ *
+ * <p>
+ * Each marble has at most one move in flight. A new move for a marble that is
+ * still moving takes over from where the marble is now, and the older animation
+ * simply stops updating it. A move between two points the same distance from the
+ * board's centre follows the arc of the track instead of cutting across it.
+ * </p>
+ */
+public class MarbleAnimator {
+    public static final Duration DEFAULT_DURATION = Duration.millis(300);
+    private static final double ARC_TOLERANCE = 15;
+
+    private final double centerX;
+    private final double centerY;
+    private final Map<MarbleView, Tween> moving = new IdentityHashMap<>();
+    private List<Tween> batch;
+    private Duration duration = DEFAULT_DURATION;
+
+    /**
+     * @param centerX the x coordinate of the centre of the track
+     * @param centerY the y coordinate of the centre of the track
+     */
+    public MarbleAnimator(double centerX, double centerY) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+    }
+
+    /**
+     * Sets how long each batch takes. {@link Duration#ZERO} moves marbles straight
+     * to where they are going.
+     */
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Starts collecting moves. Calling it again before {@link #commit()} keeps
+     * adding to the same batch.
+     */
+    public void begin() {
+        if (batch == null)
+            batch = new ArrayList<>();
+    }
+
+    /**
+     * Plays every move collected since {@link #begin()}.
+     */
+    public void commit() {
+        List<Tween> tweens = batch;
+        batch = null;
+        if (tweens != null && !tweens.isEmpty())
+            play(tweens);
+    }
+
+    /**
+     * Moves {@code view} so that its centre ends on ({@code x}, {@code y}).
+     */
+    public void moveTo(MarbleView view, double x, double y) {
+        Tween tween = new Tween(view, x, y);
+        moving.put(view, tween);
+        if (batch != null)
+            batch.add(tween);
+        else
+            play(Collections.singletonList(tween));
+    }
+
+    /**
+     * Returns whether {@code view} still has a move in flight.
+     */
+    public boolean isMoving(MarbleView view) {
+        return moving.containsKey(view);
+    }
+
+    private void play(List<Tween> tweens) {
+        if (duration.toMillis() <= 0) {
+            apply(tweens, 1);
+            finish(tweens);
+            return;
+        }
+
+        Transition transition = new Transition() {
+            {
+                setCycleDuration(duration);
+                setInterpolator(Interpolator.EASE_BOTH);
+            }
+
+            @Override
+            protected void interpolate(double frac) {
+                apply(tweens, frac);
+            }
+        };
+        transition.setOnFinished(e -> finish(tweens));
+        PerfOverlay.track(transition);
+        transition.play();
+    }
+
+    private void apply(List<Tween> tweens, double frac) {
+        for (Tween tween : tweens) {
+            if (moving.get(tween.view) == tween)
+                tween.apply(frac);
+        }
+    }
+
+    private void finish(List<Tween> tweens) {
+        for (Tween tween : tweens)
+            moving.remove(tween.view, tween);
+    }
+
+    /**
+     * One marble's move, either along a straight line or, when both ends are about
+     * as far from the centre, around it.
+     */
+    private class Tween {
+        final MarbleView view;
+        final double fromX;
+        final double fromY;
+        final double toX;
+        final double toY;
+        final boolean arc;
+        final double fromAngle;
+        final double sweep;
+        final double fromRadius;
+        final double toRadius;
+
+        Tween(MarbleView view, double toX, double toY) {
+            this.view = view;
+            this.fromX = view.getCenterX();
+            this.fromY = view.getCenterY();
+            this.toX = toX;
+            this.toY = toY;
+
+            fromRadius = Math.hypot(fromX - centerX, fromY - centerY);
+            toRadius = Math.hypot(toX - centerX, toY - centerY);
+            fromAngle = Math.atan2(fromY - centerY, fromX - centerX);
+            double delta = Math.atan2(toY - centerY, toX - centerX) - fromAngle;
+            if (delta > Math.PI)
+                delta -= 2 * Math.PI;
+            else if (delta < -Math.PI)
+                delta += 2 * Math.PI;
+            sweep = delta;
+            arc = Math.abs(fromRadius - toRadius) <= ARC_TOLERANCE && fromRadius > ARC_TOLERANCE;
+        }
+
+        void apply(double frac) {
+            if (frac >= 1)
+                view.setPosition(toX, toY);
+            else if (arc) {
+                double angle = fromAngle + sweep * frac;
+                double radius = fromRadius + (toRadius - fromRadius) * frac;
+                view.setPosition(centerX + radius * Math.cos(angle), centerY + radius * Math.sin(angle));
+            }
+            else
+                view.setPosition(fromX + (toX - fromX) * frac, fromY + (toY - fromY) * frac);
+        }
+    }
+}
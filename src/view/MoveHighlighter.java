@@ -0,0 +1,109 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import engine.ai.LegalMoves;
+import engine.board.Board;
+import engine.board.Cell;
+import javafx.geometry.Point2D;
+import javafx.scene.Group;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import model.card.Marble;
+
+/**
+ * Draws the hints of a {@link LegalMoves} on top of a board: a gold ring around every
+ * playable marble, a green ring on every cell a marble can reach, and a thicker ring
+ * on the cells of the suggested move. A two-marble Seven only shows the moves of the
+ * board's current split distance. The rings live in their own layer, so showing or
+ * clearing hints never redraws the board underneath.
+ */
+public class MoveHighlighter {
+    private static final Color MARBLE_COLOR = Color.GOLD;
+    private static final Color TARGET_COLOR = Color.LIMEGREEN;
+    private static final Color SUGGESTION_COLOR = Color.DODGERBLUE;
+
+    private final Pane pane;
+    private final Map<Cell, Point2D> cellPositionMap;
+    private final Group layer = new Group();
+    private final Map<Marble, MarbleView> marbleViews = new IdentityHashMap<>();
+    private final List<MarbleView> highlighted = new ArrayList<>();
+    private double radius = 20;
+
+    public MoveHighlighter(Pane pane, Map<Cell, Point2D> cellPositionMap) {
+        this.pane = pane;
+        this.cellPositionMap = cellPositionMap;
+        layer.setMouseTransparent(true);
+    }
+
+    public void setRadius(double radius) {
+        this.radius = radius;
+    }
+
+    /**
+     * Highlights the given view, rather than drawing a ring, whenever its marble is
+     * playable.
+     */
+    public void addMarbleView(MarbleView view) {
+        marbleViews.put(view.getMarble(), view);
+    }
+
+    public void removeMarbleView(MarbleView view) {
+        marbleViews.remove(view.getMarble());
+    }
+
+    public void show(Board board, LegalMoves moves) {
+        clear();
+        if (moves == null)
+            return;
+
+        moves = moves.forSplit(board.getSplitDistance());
+
+        for (Marble marble : moves.getPlayableMarbles()) {
+            MarbleView view = marbleViews.get(marble);
+            if (view != null) {
+                view.highlight(true);
+                highlighted.add(view);
+            }
+            else
+                ring(board.getCell(marble), MARBLE_COLOR, 3);
+
+            for (Cell target : moves.getTargets(marble))
+                ring(target, TARGET_COLOR, 3);
+        }
+
+        LegalMoves.Move best = moves.getBestMove();
+        if (best != null) {
+            for (Cell target : best.getTargets())
+                ring(target, SUGGESTION_COLOR, 5);
+        }
+
+        if (!pane.getChildren().contains(layer))
+            pane.getChildren().add(layer);
+        layer.toFront();
+    }
+
+    public void clear() {
+        layer.getChildren().clear();
+
+        for (MarbleView view : highlighted)
+            view.highlight(false);
+        highlighted.clear();
+    }
+
+    private void ring(Cell cell, Color color, double width) {
+        Point2D position = cell == null ? null : cellPositionMap.get(cell);
+        if (position == null)
+            return;
+
+        Circle ring = new Circle(position.getX(), position.getY(), radius + width);
+        ring.setFill(Color.TRANSPARENT);
+        ring.setStroke(color);
+        ring.setStrokeWidth(width);
+        layer.getChildren().add(ring);
+    }
+}
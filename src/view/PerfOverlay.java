@@ -0,0 +1,141 @@
+package view;
+
+import java.util.function.LongSupplier;
+
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+
+/**
+ * A small panel of live performance figures for finding UI jank without external
+ * tools: frames per second, the average and longest time between two pulses, the
+ * number of nodes in the scene, the heap in use, how long the last CPU decision
+ * took and how many marble animations are still running.
+ *
+ * <p>
+ * The figures are refreshed twice a second from an {@link AnimationTimer} that only
+ * runs while the overlay is shown. Marble animations are counted once they are
+ * passed to {@link #track(Animation)} before being played.
+ * </p>
+ */
+public class PerfOverlay extends VBox {
+    private static final long REFRESH_NANOS = 500_000_000L;
+
+    private static int animationsInFlight;
+
+    private final LongSupplier cpuDecisionNanos;
+    private final Label fpsLabel = new Label();
+    private final Label pulseLabel = new Label();
+    private final Label nodesLabel = new Label();
+    private final Label heapLabel = new Label();
+    private final Label cpuLabel = new Label();
+    private final Label animationsLabel = new Label();
+
+    private long windowStart;
+    private long lastPulse;
+    private long longestPulse;
+    private int frames;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onPulse(now);
+        }
+    };
+
+    /**
+     * @param cpuDecisionNanos supplies how long the last CPU decision took, in
+     *                         nanoseconds, or a negative value if none was made yet
+     */
+    public PerfOverlay(LongSupplier cpuDecisionNanos) {
+        super(2);
+        this.cpuDecisionNanos = cpuDecisionNanos;
+
+        setPadding(new Insets(6));
+        setMouseTransparent(true);
+        setStyle("-fx-background-color: rgba(0, 0, 0, 0.65);");
+        getChildren().addAll(fpsLabel, pulseLabel, nodesLabel, heapLabel, cpuLabel, animationsLabel);
+        for (Node label : getChildren())
+            label.setStyle("-fx-text-fill: white; -fx-font-family: monospace; -fx-font-size: 11px;");
+
+        setVisible(false);
+        visibleProperty().addListener((obs, wasVisible, visible) -> {
+            if (visible) {
+                lastPulse = 0;
+                timer.start();
+            }
+            else
+                timer.stop();
+        });
+    }
+
+    public void toggle() {
+        setVisible(!isVisible());
+        if (isVisible())
+            toFront();
+    }
+
+    /**
+     * Counts {@code animation} as in flight from the moment it starts until it
+     * stops, whether it finished or was interrupted. Call before playing it.
+     */
+    public static void track(Animation animation) {
+        animation.statusProperty().addListener((obs, previous, status) -> {
+            if (previous == Animation.Status.STOPPED)
+                animationsInFlight++;
+            else if (status == Animation.Status.STOPPED)
+                animationsInFlight--;
+        });
+    }
+
+    public static int getAnimationsInFlight() {
+        return animationsInFlight;
+    }
+
+    private void onPulse(long now) {
+        if (lastPulse == 0) {
+            windowStart = now;
+            lastPulse = now;
+            frames = 0;
+            longestPulse = 0;
+            return;
+        }
+
+        longestPulse = Math.max(longestPulse, now - lastPulse);
+        lastPulse = now;
+        frames++;
+
+        if (now - windowStart >= REFRESH_NANOS) {
+            refresh(now - windowStart);
+            windowStart = now;
+            frames = 0;
+            longestPulse = 0;
+        }
+    }
+
+    private void refresh(long elapsed) {
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsed = runtime.totalMemory() - runtime.freeMemory();
+        long cpuNanos = cpuDecisionNanos == null ? -1 : cpuDecisionNanos.getAsLong();
+
+        fpsLabel.setText(String.format("FPS        %6.1f", frames * 1e9 / elapsed));
+        pulseLabel.setText(String.format("pulse      %6.1f ms avg, %.1f ms max", elapsed / 1e6 / frames, longestPulse / 1e6));
+        nodesLabel.setText(String.format("nodes      %6d", getScene() == null ? 0 : countNodes(getScene().getRoot())));
+        heapLabel.setText(String.format("heap       %6.1f MB of %.1f MB", heapUsed / 1048576.0, runtime.totalMemory() / 1048576.0));
+        cpuLabel.setText(cpuNanos < 0 ? "CPU move        -" : String.format("CPU move   %6.2f ms", cpuNanos / 1e6));
+        animationsLabel.setText(String.format("animations %6d", animationsInFlight));
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable())
+                count += countNodes(child);
+        }
+        return count;
+    }
+}
@@ -15,14 +15,14 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import javafx.scene.layout.Region;
-import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class StartMenu {
     private final Stage stage;
-    private MediaPlayer startMusic;
+    private CompletableFuture<MediaPlayer> startMusic;
 
     public StartMenu(Stage stage) {
         this.stage = stage;
@@ -33,23 +33,15 @@ public class StartMenu {
      * Start, onStart.accept(name) is called.
      */
     public void show(Consumer<String> onStart) {
-        // --- PLAY BACKGROUND MUSIC ---
-        try {
-            Media media = new Media(
-                getClass().getResource("/audio/startmusic.mp3")
-                    .toExternalForm()
-            );
-            startMusic = new MediaPlayer(media);
-            startMusic.setCycleCount(MediaPlayer.INDEFINITE);
-            startMusic.setVolume(0.7);
-            
-            startMusic.play();
-        } catch (NullPointerException e) {
+        // --- PLAY BACKGROUND MUSIC, once the menu is on screen ---
+        startMusic = Assets.playMusic("/audio/startmusic.mp3", 0.7);
+        startMusic.exceptionally(e -> {
             System.err.println("Could not find startmusic.mp3 on the classpath!");
-        }
+            return null;
+        });
 
-        // --- background image full-screen ---
-        Image bgImg = new Image(getClass().getResourceAsStream("/images/jackarooo.png"));
+        // --- background image full-screen, decoded in the background ---
+        Image bgImg = Assets.getImage("/images/jackarooo.png", 1024, 1024);
         ImageView bgView = new ImageView(bgImg);
         bgView.setPreserveRatio(true);
         bgView.setSmooth(true);
@@ -93,7 +85,7 @@ public class StartMenu {
                 warning.showAndWait();
             } else {
                 // stop the music when transitioning
-                if (startMusic != null) startMusic.stop();
+                if (!startMusic.cancel(false)) startMusic.thenAccept(MediaPlayer::stop);
                 onStart.accept(name);
             }
         });
@@ -0,0 +1,58 @@
+package view;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times the stages of starting the game, from the JVM starting to the first frame
+ * of the game board.
+ *
+ * <p>
+ * Profiling is off unless the JVM is started with
+ * {@code -Djackaroo.startup.profile=true}; then every {@link #mark(String)} prints
+ * how long after the JVM started the stage ended and how long the stage itself
+ * took, and {@link #getReport()} returns them all. When it is off, {@code mark}
+ * does nothing.
+ * </p>
+ */
+public final class StartupProfile {
+    public static final boolean ENABLED = Boolean.getBoolean("jackaroo.startup.profile");
+
+    private static final List<String> stages = new ArrayList<>();
+    private static long jvmStartNanos;
+    private static long lastNanos;
+
+    private StartupProfile() {
+    }
+
+    /**
+     * Records that the stage called {@code stage} has just ended.
+     */
+    public static synchronized void mark(String stage) {
+        if (!ENABLED)
+            return;
+
+        long now = System.nanoTime();
+        if (jvmStartNanos == 0) {
+            jvmStartNanos = now - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+            lastNanos = jvmStartNanos;
+        }
+
+        String line = String.format("%-24s at %6d ms, took %5d ms", stage, (now - jvmStartNanos) / 1_000_000,
+                (now - lastNanos) / 1_000_000);
+        lastNanos = now;
+        stages.add(line);
+        System.err.println("[startup] " + line);
+    }
+
+    /**
+     * Returns one line per stage marked so far, in order.
+     */
+    public static synchronized String getReport() {
+        StringBuilder sb = new StringBuilder();
+        for (String stage : stages)
+            sb.append(stage).append(System.lineSeparator());
+        return sb.toString();
+    }
+}
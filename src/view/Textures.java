@@ -0,0 +1,188 @@
+package view;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import model.card.Card;
+import model.card.standard.Standard;
+import model.card.wild.Burner;
+import model.card.wild.Saver;
+
+/**
+ * The process-wide cache of the images the views draw, so each file is decoded once
+ * no matter how many views show it or how often they refresh.
+ *
+ * <p>
+ * The 54 card faces and the card back are packed into a single atlas image, and a
+ * card view shows a card by pointing its {@link ImageView} at the atlas with the
+ * card's viewport. Turning or changing a card therefore decodes nothing and
+ * allocates nothing, and the faces cost one texture instead of 55. Other images,
+ * like the marbles and the home zones, are kept by resource path.
+ * </p>
+ *
+ * <p>
+ * {@link #preload()} builds the atlas on a background thread, so it is normally
+ * ready before the first card is shown; a view that needs it earlier waits for it.
+ * </p>
+ */
+public final class Textures {
+    public static final int CARD_WIDTH = 71;
+    public static final int CARD_HEIGHT = 95;
+
+    private static final String CARD_DIR = "/images/cards/";
+    private static final int BURNER_TILE = 52;
+    private static final int SAVER_TILE = 53;
+    private static final int BACK_TILE = 54;
+    private static final int TILES = 55;
+    private static final int COLUMNS = 11;
+
+    private static final Map<String, Image> images = new ConcurrentHashMap<>();
+    private static final Rectangle2D[] viewports = new Rectangle2D[TILES];
+    private static volatile CompletableFuture<Image> atlas;
+
+    static {
+        for (int i = 0; i < TILES; i++)
+            viewports[i] = new Rectangle2D((i % COLUMNS) * CARD_WIDTH, (i / COLUMNS) * CARD_HEIGHT, CARD_WIDTH, CARD_HEIGHT);
+    }
+
+    private Textures() {
+    }
+
+    /**
+     * Starts building the card atlas on a background thread. Calling it again does
+     * nothing.
+     */
+    public static void preload() {
+        getAtlasFuture();
+    }
+
+    /**
+     * Returns the image at a resource path such as {@code /images/redMarble.png}, or
+     * {@code null} if there is no such resource.
+     */
+    public static Image getImage(String path) {
+        Image image = images.get(path);
+        if (image == null) {
+            image = load(path, 0, 0);
+            if (image == null)
+                return null;
+            Image loaded = images.putIfAbsent(path, image);
+            if (loaded != null)
+                image = loaded;
+        }
+        return image;
+    }
+
+    /**
+     * Shows a card, or the card back if {@code card} is {@code null} or face down,
+     * in {@code view}.
+     */
+    public static void showCard(ImageView view, Card card, boolean faceUp) {
+        view.setImage(getAtlas());
+        view.setViewport(viewports[faceUp && card != null ? getTile(card) : BACK_TILE]);
+    }
+
+    /**
+     * Returns the atlas of every card face, waiting for it to be built.
+     */
+    public static Image getAtlas() {
+        return getAtlasFuture().join();
+    }
+
+    /**
+     * Returns the atlas tile of a card's face: 13 tiles per suit in the order hearts,
+     * clubs, diamonds, spades, then the Burner and the Saver. Any other card shows
+     * its back.
+     */
+    static int getTile(Card card) {
+        if (card instanceof Standard) {
+            Standard standard = (Standard) card;
+            int base;
+            switch (standard.getSuit()) {
+                case CLUB:    base = 13; break;
+                case DIAMOND: base = 26; break;
+                case SPADE:   base = 39; break;
+                default:      base =  0; break;
+            }
+            return base + standard.getRank() - 1;
+        }
+        if (card instanceof Burner)
+            return BURNER_TILE;
+        if (card instanceof Saver)
+            return SAVER_TILE;
+        return BACK_TILE;
+    }
+
+    private static CompletableFuture<Image> getAtlasFuture() {
+        CompletableFuture<Image> future = atlas;
+        if (future == null) {
+            synchronized (Textures.class) {
+                if (atlas == null) {
+                    atlas = new CompletableFuture<>();
+                    Thread thread = new Thread(Textures::buildAtlas, "texture-preload");
+                    thread.setDaemon(true);
+                    thread.start();
+                }
+                future = atlas;
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Decodes every card image once and copies it into its tile of the atlas. A
+     * missing image leaves its tile blank rather than failing the whole atlas.
+     */
+    private static void buildAtlas() {
+        try {
+            int rows = (TILES + COLUMNS - 1) / COLUMNS;
+            WritableImage image = new WritableImage(COLUMNS * CARD_WIDTH, rows * CARD_HEIGHT);
+            PixelWriter writer = image.getPixelWriter();
+
+            for (int tile = 0; tile < TILES; tile++) {
+                String file = tile == BACK_TILE ? "card_back.png" : String.format("tile%03d.png", tile);
+                Image face = load(CARD_DIR + file, CARD_WIDTH, CARD_HEIGHT);
+                if (face == null)
+                    continue;
+
+                PixelReader reader = face.getPixelReader();
+                int width = Math.min(CARD_WIDTH, (int) face.getWidth());
+                int height = Math.min(CARD_HEIGHT, (int) face.getHeight());
+                Rectangle2D viewport = viewports[tile];
+                writer.setPixels((int) viewport.getMinX(), (int) viewport.getMinY(), width, height, reader, 0, 0);
+            }
+
+            atlas.complete(image);
+        }
+        catch (RuntimeException e) {
+            atlas.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Decodes an image, scaled to the given size unless it is 0, or returns
+     * {@code null} if there is no such resource.
+     */
+    private static Image load(String path, double width, double height) {
+        try (InputStream stream = Textures.class.getResourceAsStream(path)) {
+            if (stream == null) {
+                System.err.println("Missing image: " + path);
+                return null;
+            }
+            return new Image(stream, width, height, false, true);
+        }
+        catch (IOException e) {
+            System.err.println("Could not read image " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package view;
+
+import java.util.concurrent.Semaphore;
+
+import engine.Game;
+import engine.ai.SelfPlay;
+import javafx.application.Platform;
+
+/**
+ * Plays stretches of CPU turns off the FX thread. Normally every turn gets a frame
+ * of its own and the next one waits a moment, so the moves can be followed; in
+ * turbo mode the turns are played at full speed and the view only catches up once
+ * per frame budget.
+ *
+ * <p>
+ * While a stretch runs, the game thread plays turns until a frame is due, then
+ * hands the FX thread a frame and waits for it to be drawn before it plays on.
+ * Views that follow the game through its events, like {@link CellLayer}, coalesce
+ * everything that happened in between, so the screen only ever shows the board as
+ * it stood at the end of a frame. Because the game thread is paused while a frame
+ * is drawn, the frame callback may read the game freely. Turbo mode can be turned
+ * on or off while a stretch runs and takes effect from the next turn.
+ * </p>
+ */
+public class TurboMode {
+    public static final long DEFAULT_FRAME_BUDGET_MILLIS = 250;
+    public static final long DEFAULT_TURN_PAUSE_MILLIS = 600;
+
+    private final Game game;
+    private final Runnable onFrame;
+    private volatile long frameBudgetMillis = DEFAULT_FRAME_BUDGET_MILLIS;
+    private volatile long turnPauseMillis = DEFAULT_TURN_PAUSE_MILLIS;
+    private volatile boolean enabled;
+    private boolean running;
+
+    /**
+     * @param onFrame run on the FX thread after each frame's worth of turns and once
+     *                more when the stretch ends
+     */
+    public TurboMode(Game game, Runnable onFrame) {
+        this.game = game;
+        this.onFrame = onFrame;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets how long the game may play between two frames. 0 shows the board once per
+     * stretch only.
+     */
+    public void setFrameBudgetMillis(long frameBudgetMillis) {
+        this.frameBudgetMillis = frameBudgetMillis;
+    }
+
+    /**
+     * Sets how long the board is shown after each CPU turn when turbo mode is off.
+     */
+    public void setTurnPauseMillis(long turnPauseMillis) {
+        this.turnPauseMillis = turnPauseMillis;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Plays the CPU turns ahead on a background thread, if a CPU is to move: at full
+     * speed in turbo mode, one turn per frame otherwise. Must be called on the FX
+     * thread.
+     *
+     * @return whether a stretch was started
+     */
+    public boolean playCpuTurns() {
+        if (running || game.checkWin() != null || !SelfPlay.isCpuToMove(game))
+            return false;
+
+        running = true;
+        Thread thread = new Thread(this::play, "cpu-turns");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    private void play() {
+        Semaphore drawn = new Semaphore(0);
+        try {
+            long frameStart = System.nanoTime();
+            while (game.checkWin() == null && SelfPlay.isCpuToMove(game)) {
+                SelfPlay.playTurn(game);
+
+                if (!enabled) {
+                    drawFrame(drawn);
+                    Thread.sleep(turnPauseMillis);
+                    frameStart = System.nanoTime();
+                    continue;
+                }
+
+                long budget = frameBudgetMillis;
+                if (budget > 0 && System.nanoTime() - frameStart >= budget * 1_000_000L) {
+                    drawFrame(drawn);
+                    frameStart = System.nanoTime();
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            // the window is closing; leave the rest of the stretch unplayed
+        }
+        finally {
+            Platform.runLater(() -> {
+                running = false;
+                onFrame.run();
+            });
+        }
+    }
+
+    /**
+     * Hands the FX thread a frame and waits until it has been drawn.
+     */
+    private void drawFrame(Semaphore drawn) {
+        Platform.runLater(() -> {
+            try {
+                onFrame.run();
+            }
+            finally {
+                drawn.release();
+            }
+        });
+        drawn.acquireUninterruptibly();
+    }
+}
@@ -11,6 +11,7 @@ import model.Colour;
  * Controller for the winner dialog that appears when a player wins the game.
  */
 public class WinnerViewController {
+    public static final String FXML = "/view/WinnerView.fxml";
 
     @FXML private StackPane root;
     @FXML private Label winnerLabel;